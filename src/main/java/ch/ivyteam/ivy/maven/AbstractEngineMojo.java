@@ -16,17 +16,20 @@
 
 package ch.ivyteam.ivy.maven;
 
-import java.io.File;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Map;
 
 import org.apache.maven.artifact.versioning.ArtifactVersion;
 import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
 import org.apache.maven.artifact.versioning.VersionRange;
+import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugins.annotations.Parameter;
 
+import ch.ivyteam.ivy.maven.engine.EngineCacheIndex;
+import ch.ivyteam.ivy.maven.engine.EngineResolution;
 import ch.ivyteam.ivy.maven.engine.EngineVersionEvaluator;
 import ch.ivyteam.ivy.maven.engine.download.LatestMinorVersionRange;
 
@@ -84,9 +87,14 @@ public abstract class AbstractEngineMojo extends AbstractMojo {
   @Parameter(property = "ivy.engine.version.latest.minor", defaultValue = "false")
   Boolean useLatestMinor;
 
+  @Parameter(defaultValue = "${session}", readonly = true, required = true)
+  protected MavenSession session;
+
   /** testing only: avoid restriction to minimal version! */
   boolean restrictVersionToMinimalCompatible = true;
 
+  private EngineResolution engineResolution;
+
   public AbstractEngineMojo() {}
 
   /**
@@ -115,30 +123,49 @@ public abstract class AbstractEngineMojo extends AbstractMojo {
       return null;
     }
 
-    File engineDirToTake = null;
-    ArtifactVersion versionOfEngineToTake = null;
-    for (File engineDirCandidate : engineCacheDirectory.toFile().listFiles()) {
-      if (!engineDirCandidate.isDirectory()) {
-        continue;
-      }
+    VersionRange ivyVersionRange = getIvyVersionRange();
+    var key = "engine:" + engineCacheDirectory.toAbsolutePath() + ":" + ivyVersionRange;
+    var engineDir = getEngineResolution().get(key, () -> findMatchingEngine(ivyVersionRange));
+    if (engineDir != null && !Files.isDirectory(engineDir)) { // removed meanwhile
+      getEngineResolution().invalidate();
+      engineDir = getEngineResolution().get(key, () -> findMatchingEngine(ivyVersionRange));
+    }
+    return engineDir;
+  }
 
-      ArtifactVersion candidateVersion = getInstalledEngineVersion(engineDirCandidate.toPath());
-      if (candidateVersion == null || !getIvyVersionRange().containsVersion(candidateVersion)) {
+  private Path findMatchingEngine(VersionRange ivyVersionRange) throws MojoExecutionException {
+    Path engineDirToTake = null;
+    ArtifactVersion versionOfEngineToTake = null;
+    for (var candidate : indexedEnginesInCacheDirectory().entrySet()) {
+      ArtifactVersion candidateVersion = candidate.getValue();
+      if (!ivyVersionRange.containsVersion(candidateVersion)) {
         continue;
       }
       if (versionOfEngineToTake == null || versionOfEngineToTake.compareTo(candidateVersion) < 0) {
-        engineDirToTake = engineDirCandidate;
+        engineDirToTake = candidate.getKey();
         versionOfEngineToTake = candidateVersion;
       }
     }
-    return toPath(engineDirToTake);
+    return engineDirToTake;
   }
 
-  private Path toPath(File file) {
-    return file == null ? null : file.toPath();
+  private Map<Path, ArtifactVersion> indexedEnginesInCacheDirectory() throws MojoExecutionException {
+    try {
+      return new EngineCacheIndex(engineCacheDirectory, getLog()).engines();
+    } catch (Exception ex) {
+      throw new MojoExecutionException("Cannot evaluate engines in " + engineCacheDirectory, ex);
+    }
   }
 
   protected final ArtifactVersion getInstalledEngineVersion(Path engineDir) throws MojoExecutionException {
+    if (engineDir == null || !Files.isDirectory(engineDir)) {
+      return evaluateEngineVersion(engineDir);
+    }
+    return getEngineResolution().get("version:" + engineDir.toAbsolutePath().normalize(),
+        () -> evaluateEngineVersion(engineDir));
+  }
+
+  private ArtifactVersion evaluateEngineVersion(Path engineDir) throws MojoExecutionException {
     try {
       return new EngineVersionEvaluator(getLog(), engineDir).evaluateVersion();
     } catch (Exception ex) {
@@ -147,6 +174,11 @@ public abstract class AbstractEngineMojo extends AbstractMojo {
   }
 
   protected final VersionRange getIvyVersionRange() throws MojoExecutionException {
+    return getEngineResolution().get("range:" + ivyVersion + ":" + useLatestMinor + ":" + restrictVersionToMinimalCompatible,
+        this::evaluateIvyVersionRange);
+  }
+
+  private VersionRange evaluateIvyVersionRange() throws MojoExecutionException {
     try {
       VersionRange ivyVersionRange = VersionRange.createFromVersionSpec(ivyVersion);
       if (ivyVersionRange.getRecommendedVersion() != null) {
@@ -166,6 +198,16 @@ public abstract class AbstractEngineMojo extends AbstractMojo {
     }
   }
 
+  /**
+   * @return engine resolutions shared by all mojos of this build session
+   */
+  protected final EngineResolution getEngineResolution() {
+    if (engineResolution == null) {
+      engineResolution = EngineResolution.of(session);
+    }
+    return engineResolution;
+  }
+
   private VersionRange restrictToMinimalCompatible(VersionRange ivyVersionRange)
       throws InvalidVersionSpecificationException, MojoExecutionException {
     VersionRange minimalCompatibleVersionRange = VersionRange
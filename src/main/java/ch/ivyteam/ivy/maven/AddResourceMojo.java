@@ -1,8 +1,10 @@
 package ch.ivyteam.ivy.maven;
 
 import java.io.File;
+import java.nio.file.Path;
 import java.util.stream.Stream;
 
+import org.apache.maven.execution.MavenSession;
 import org.apache.maven.model.Resource;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
@@ -11,7 +13,8 @@ import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
-import org.codehaus.plexus.util.DirectoryScanner;
+
+import ch.ivyteam.ivy.maven.util.ProjectFileIndex;
 
 /**
  * Dynamically adds resource directories to the Maven build.
@@ -28,6 +31,9 @@ public class AddResourceMojo extends AbstractMojo {
   @Parameter(property = "project", required = true, readonly = true)
   MavenProject project;
 
+  @Parameter(defaultValue = "${session}", readonly = true)
+  MavenSession session;
+
   /**
    * Set to <code>true</code> to skip this mojo entirely.
    */
@@ -56,10 +62,8 @@ public class AddResourceMojo extends AbstractMojo {
   }
 
   private Stream<String> resourceDirectoriesToAdd() {
-    var scanner = new DirectoryScanner();
-    scanner.setBasedir(project.getBasedir());
-    scanner.setIncludes(INCLUDES);
-    scanner.scan();
-    return Stream.of(scanner.getIncludedDirectories());
+    return ProjectFileIndex.of(session, project.getBasedir().toPath())
+        .directories(INCLUDES).stream()
+        .map(Path::toString);
   }
 }
@@ -1,7 +1,9 @@
 package ch.ivyteam.ivy.maven;
 
+import java.nio.file.Path;
 import java.util.stream.Stream;
 
+import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
@@ -9,7 +11,8 @@ import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
-import org.codehaus.plexus.util.DirectoryScanner;
+
+import ch.ivyteam.ivy.maven.util.ProjectFileIndex;
 
 /**
  * Dynamically adds source directories to the Maven build.
@@ -26,6 +29,9 @@ public class AddSourceMojo extends AbstractMojo {
   @Parameter(property = "project", required = true, readonly = true)
   MavenProject project;
 
+  @Parameter(defaultValue = "${session}", readonly = true)
+  MavenSession session;
+
   /**
    * Set to <code>true</code> to skip this mojo entirely.
    */
@@ -48,10 +54,8 @@ public class AddSourceMojo extends AbstractMojo {
   }
 
   private Stream<String> sourceDirectoriesToAdd() {
-    var scanner = new DirectoryScanner();
-    scanner.setBasedir(project.getBasedir());
-    scanner.setIncludes(INCLUDES);
-    scanner.scan();
-    return Stream.of(scanner.getIncludedDirectories());
+    return ProjectFileIndex.of(session, project.getBasedir().toPath())
+        .directories(INCLUDES).stream()
+        .map(Path::toString);
   }
 }
@@ -20,9 +20,14 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.Objects;
 
 import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.maven.model.FileSet;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
@@ -30,11 +35,14 @@ import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.archiver.ArchiveEntry;
 import org.codehaus.plexus.archiver.ArchiverException;
 import org.codehaus.plexus.archiver.util.DefaultFileSet;
 import org.codehaus.plexus.archiver.zip.ZipArchiver;
+import org.codehaus.plexus.components.io.resources.PlexusIoFileResource;
 import org.codehaus.plexus.util.AbstractScanner;
 
+import ch.ivyteam.ivy.maven.iar.IarWriter;
 import ch.ivyteam.ivy.maven.util.FileSetConverter;
 
 /**
@@ -55,6 +63,8 @@ public class IarPackagingMojo extends AbstractMojo {
         "target/lib/mvn-deps/*"
     };
     String PREFIX = "META-INF/ivy/";
+    Instant REPRODUCIBLE_TIME = Instant.parse("2000-01-01T00:00:00Z");
+    Instant MIN_ZIP_TIME = Instant.parse("1980-01-01T00:00:02Z");
   }
 
   @Parameter(property = "project", required = true, readonly = true)
@@ -108,6 +118,48 @@ public class IarPackagingMojo extends AbstractMojo {
   @Parameter(defaultValue = "${project.build.finalName}", property = "ivy.final.name")
   String finalName;
 
+  /**
+   * Packs the IAR incrementally: the entries that did not change since the
+   * previous build are copied from the previous IAR, the others are compressed
+   * by {@link #packThreads} threads. If disabled, the whole IAR is packed on
+   * every build.
+   *
+   * @since 14.0.0
+   */
+  @Parameter(property = "ivy.iar.incremental", defaultValue = "false")
+  boolean incremental;
+
+  /**
+   * Number of threads that compress the IAR entries when packing
+   * {@link #incremental incrementally}. Defaults to the number of available
+   * processors. Set to <code>1</code> to compress sequentially.
+   *
+   * @since 14.0.0
+   */
+  @Parameter(property = "ivy.iar.pack.threads")
+  Integer packThreads;
+
+  /**
+   * Packs a reproducible IAR: the entries are sorted and all of them get the
+   * same time, the {@link #outputTimestamp} or a fixed time if it is not set.
+   * Packing the same content twice results in the same IAR, byte by byte.
+   *
+   * @since 14.0.0
+   */
+  @Parameter(property = "ivy.iar.reproducible", defaultValue = "false")
+  boolean reproducible;
+
+  /**
+   * Timestamp of the entries of a reproducible IAR, formatted as ISO 8601
+   * (<code>yyyy-MM-dd'T'HH:mm:ssXXX</code>) or as seconds since the epoch. If
+   * it is set, the IAR is packed reproducible, even if {@link #reproducible}
+   * is not enabled.
+   *
+   * @since 14.0.0
+   */
+  @Parameter(defaultValue = "${project.build.outputTimestamp}")
+  String outputTimestamp;
+
   @Override
   public void execute() throws MojoExecutionException, MojoFailureException {
     var iar = getIarFile();
@@ -130,7 +182,6 @@ public class IarPackagingMojo extends AbstractMojo {
 
   private void createIvyArchive(File projectDir, Path targetIar) throws MojoExecutionException {
     var archiver = new ZipArchiver();
-    archiver.setDestFile(targetIar.toFile());
     var fsConverter = new FileSetConverter(project.getBasedir().toPath());
     for (var fs : fsConverter.toPlexusFileSets(iarFileSets)) {
       fs.setPrefix(Defaults.PREFIX);
@@ -139,13 +190,79 @@ public class IarPackagingMojo extends AbstractMojo {
     archiver.addFileSet(getIarFs_exceptTarget(projectDir));
     archiver.addFileSet(getIarTargetFs(projectDir));
     archiveClasses(projectDir.toPath(), archiver);
+    var time = reproducibleTime();
     try {
-      archiver.createArchive();
+      if (incremental) {
+        writeIncremental(archiver, targetIar, time);
+      } else {
+        archiver.setDestFile(targetIar.toFile());
+        if (time != null) {
+          archiver.configureReproducibleBuild(FileTime.from(time));
+        }
+        archiver.createArchive();
+      }
     } catch (ArchiverException | IOException ex) {
       throw new MojoExecutionException("Failed to create IAR: " + targetIar.toAbsolutePath(), ex);
     }
   }
 
+  /**
+   * The files are only collected by the {@link ZipArchiver}, the IAR is
+   * written by the {@link IarWriter}, which reuses the unchanged entries of the
+   * previous IAR.
+   */
+  private void writeIncremental(ZipArchiver archiver, Path targetIar, Instant time) throws IOException {
+    var threads = packThreads != null ? packThreads : Runtime.getRuntime().availableProcessors();
+    var writer = new IarWriter(targetIar, getIndexFile(targetIar), getLog())
+        .threads(threads)
+        .reproducible(time);
+    for (var resources = archiver.getResources(); resources.hasNext();) {
+      var entry = resources.next();
+      if (entry.getType() == ArchiveEntry.DIRECTORY) {
+        writer.addDirectory(entry.getName(), sourceFile(entry), entry.getMode());
+      } else if (entry.getType() == ArchiveEntry.FILE) {
+        writer.addFile(entry.getName(), sourceFile(entry), entry.getMode());
+      }
+    }
+    writer.write();
+  }
+
+  /**
+   * @return the time of all entries, or <code>null</code> if the IAR is not
+   *         packed reproducible
+   */
+  Instant reproducibleTime() throws MojoExecutionException {
+    // like maven-archiver: a value of a single character disables it
+    if (StringUtils.length(outputTimestamp) < 2) {
+      return reproducible ? Defaults.REPRODUCIBLE_TIME : null;
+    }
+    Instant time;
+    try {
+      time = StringUtils.isNumeric(outputTimestamp)
+          ? Instant.ofEpochSecond(Long.parseLong(outputTimestamp))
+          : OffsetDateTime.parse(outputTimestamp).toInstant();
+    } catch (DateTimeParseException | NumberFormatException ex) {
+      throw new MojoExecutionException("Invalid project.build.outputTimestamp '" + outputTimestamp
+          + "', expected an ISO 8601 date or seconds since the epoch", ex);
+    }
+    if (time.isBefore(Defaults.MIN_ZIP_TIME)) {
+      throw new MojoExecutionException("Invalid project.build.outputTimestamp '" + outputTimestamp
+          + "', zip entries can not be older than " + Defaults.MIN_ZIP_TIME);
+    }
+    return time;
+  }
+
+  private static Path sourceFile(ArchiveEntry entry) {
+    if (entry.getResource() instanceof PlexusIoFileResource resource) {
+      return resource.getFile().toPath();
+    }
+    throw new ArchiverException("Can not pack '" + entry.getName() + "', it is not a file");
+  }
+
+  private Path getIndexFile(Path targetIar) {
+    return Path.of(project.getBuild().getDirectory()).resolve(targetIar.getFileName() + ".index");
+  }
+
   private void archiveClasses(Path projectDir, ZipArchiver archiver) {
     var outputDir = projectDir.resolve(Path.of(project.getBuild().getOutputDirectory()));
     if (!Files.exists(outputDir)) {
@@ -17,9 +17,11 @@
 package ch.ivyteam.ivy.maven;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -38,9 +40,13 @@ import org.eclipse.aether.RepositorySystem;
 import org.eclipse.aether.RepositorySystemSession;
 import org.eclipse.aether.repository.RemoteRepository;
 
+import ch.ivyteam.ivy.maven.engine.EngineCacheIndex;
+import ch.ivyteam.ivy.maven.engine.EngineInstallLock;
 import ch.ivyteam.ivy.maven.engine.EngineVersionEvaluator;
 import ch.ivyteam.ivy.maven.engine.download.EngineDownloader;
+import ch.ivyteam.ivy.maven.engine.download.EngineZipCache;
 import ch.ivyteam.ivy.maven.engine.download.MavenEngineDownloader;
+import ch.ivyteam.ivy.maven.engine.download.ParallelZipExtractor;
 import ch.ivyteam.ivy.maven.engine.download.URLEngineDownloader;
 import ch.ivyteam.ivy.maven.util.PathUtils;
 import net.lingala.zip4j.ZipFile;
@@ -144,6 +150,66 @@ public class InstallEngineMojo extends AbstractEngineMojo {
   @Parameter(property = "ivy.engine.auto.install", defaultValue = "true")
   boolean autoInstallEngine;
 
+  /**
+   * Number of parallel HTTP range requests used to download the engine from
+   * the {@link #engineDownloadUrl}. Interrupted downloads are resumed by the
+   * next build. Servers that do not support range requests are downloaded with
+   * a single request. Set to <code>1</code> to always use a single request.
+   *
+   * @since 14.0.0
+   */
+  @Parameter(property = "ivy.engine.download.threads", defaultValue = "4")
+  int downloadThreads;
+
+  /**
+   * Unpacks the engine while it is downloaded from the
+   * {@link #engineDownloadUrl}, instead of downloading the full zip to the
+   * temp directory before unpacking it. Falls back to the download and unpack
+   * approach if the served archive can not be read as a stream.
+   *
+   * <p>
+   * <b style="color:red">Caution</b>: Unix file permissions of the engine
+   * (e.g. executable launcher scripts) are not restored by a streaming install.
+   * </p>
+   *
+   * @since 14.0.0
+   */
+  @Parameter(property = "ivy.engine.install.streaming", defaultValue = "false")
+  boolean streamingInstall;
+
+  /**
+   * Number of threads that unpack the downloaded engine zip. Defaults to the
+   * number of available processors. Set to <code>1</code> to unpack
+   * sequentially.
+   *
+   * @since 14.0.0
+   */
+  @Parameter(property = "ivy.engine.unpack.threads")
+  Integer unpackThreads;
+
+  /**
+   * Directory where downloaded engine zips are kept, addressed by their
+   * SHA-256 checksum. If an engine is no longer in the
+   * {@link #engineCacheDirectory}, it is unpacked from this cache instead of
+   * being downloaded again. A checksum published next to the engine zip
+   * (<code>*.zip.sha256</code>) is verified. The directory can be shared by
+   * several checkouts and builds. Downloaded zips are not kept if this
+   * parameter is not set.
+   *
+   * @since 14.0.0
+   */
+  @Parameter(property = "ivy.engine.download.cache.directory")
+  Path engineDownloadCacheDirectory;
+
+  /**
+   * Maximum size of the {@link #engineDownloadCacheDirectory} in megabytes.
+   * The least recently used engine zips are evicted once it is exceeded.
+   *
+   * @since 14.0.0
+   */
+  @Parameter(property = "ivy.engine.download.cache.max.size", defaultValue = "2048")
+  long engineDownloadCacheMaxSizeInMb;
+
   @Inject
   @SuppressWarnings("deprecation")
   org.apache.maven.artifact.manager.WagonManager wagonManager;
@@ -194,31 +260,12 @@ public class InstallEngineMojo extends AbstractEngineMojo {
     if (autoInstallEngine) {
       getLog().info("Will automatically download Engine now.");
       final EngineDownloader engineDownloader = getDownloader();
-      var downloadZip = engineDownloader.downloadEngine();
-
-      if (cleanEngineDir) {
-        removeOldEngineContent();
-      }
-
-      if (!isEngineDirectoryIdentified()) {
-        String engineZipFileName = engineDownloader.getZipFileNameFromDownloadLocation();
-        engineDirectory = engineCacheDirectory.resolve(ivyEngineVersionOfZip(engineZipFileName));
-        try {
-          Files.createDirectories(engineDirectory);
-        } catch (IOException ex) {
-          throw new MojoExecutionException("Could not create directories " + engineDirectory, ex);
-        }
-      }
-
-      unpackEngine(downloadZip);
-
-      if (!downloadUsingMaven) {
-        try {
-          Files.delete(downloadZip);
-        } catch (IOException ex) {
-          throw new MojoExecutionException("Could not delete file " + downloadZip.toAbsolutePath(), ex);
-        }
+      if (installsIntoEngineCacheDirectory()) {
+        installIntoEngineCacheDirectory(engineDownloader);
+      } else {
+        installIntoEngineDirectory(engineDownloader, cleanEngineDir);
       }
+      getEngineResolution().invalidate();
 
       ArtifactVersion installedEngineVersion = getInstalledEngineVersion(getRawEngineDirectory());
       if (installedEngineVersion == null) {
@@ -231,12 +278,155 @@ public class InstallEngineMojo extends AbstractEngineMojo {
             + "Downloaded version is '" + installedEngineVersion + "' but expecting '" + ivyVersion
             + "'.");
       }
+      registerInEngineCacheIndex(installedEngineVersion);
     } else {
       throw new MojoExecutionException("Aborting class generation as no valid ivy Engine is available! "
           + "Use the 'autoInstallEngine' parameter for an automatic installation.");
     }
   }
 
+  private boolean installsIntoEngineCacheDirectory() {
+    if (engineCacheDirectory == null) {
+      return false;
+    }
+    return !isEngineDirectoryIdentified() || isInEngineCacheDirectory(getRawEngineDirectory());
+  }
+
+  private boolean isInEngineCacheDirectory(Path engineDir) {
+    return engineCacheDirectory != null && engineCacheDirectory.toAbsolutePath().normalize()
+        .equals(engineDir.toAbsolutePath().normalize().getParent());
+  }
+
+  private void registerInEngineCacheIndex(ArtifactVersion installedEngineVersion) {
+    var engineDir = getRawEngineDirectory();
+    if (isInEngineCacheDirectory(engineDir)) {
+      new EngineCacheIndex(engineCacheDirectory, getLog()).register(engineDir, installedEngineVersion, osArchitecture);
+    }
+  }
+
+  /**
+   * Installs the engine while holding a lock for its directory, so that
+   * concurrent builds sharing the {@link #engineCacheDirectory} neither
+   * download the same engine twice nor see a partially unpacked engine. The
+   * engine is unpacked into a hidden staging directory, which is then renamed
+   * to the engine directory.
+   */
+  private void installIntoEngineCacheDirectory(EngineDownloader engineDownloader) throws MojoExecutionException {
+    var engineDir = isEngineDirectoryIdentified()
+        ? getRawEngineDirectory()
+        : engineCacheDirectory.resolve(ivyEngineVersionOfZip(getZipFileName(engineDownloader)));
+    try {
+      Files.createDirectories(engineCacheDirectory);
+      try (var _ = EngineInstallLock.acquire(engineDir, getLog())) {
+        if (isInstalled(engineDir)) {
+          getLog().info("Reusing engine in '" + engineDir + "' which has been installed by a concurrent build");
+        } else {
+          var staging = Files.createTempDirectory(engineCacheDirectory, "." + engineDir.getFileName() + ".staging");
+          try {
+            installEngine(engineDownloader, staging, false);
+            replaceEngineDirectory(engineDir, staging);
+          } finally {
+            PathUtils.delete(staging);
+          }
+        }
+      }
+    } catch (IOException | UncheckedIOException ex) {
+      throw new MojoExecutionException("Failed to install engine into '" + engineDir + "'.", ex);
+    }
+    engineDirectory = engineDir;
+  }
+
+  private static String getZipFileName(EngineDownloader engineDownloader) throws MojoExecutionException {
+    if (engineDownloader instanceof URLEngineDownloader urlDownloader) {
+      urlDownloader.resolveEngineUrl();
+    }
+    return engineDownloader.getZipFileNameFromDownloadLocation();
+  }
+
+  private boolean isInstalled(Path engineDir) throws MojoExecutionException {
+    if (!Files.isDirectory(engineDir)) {
+      return false;
+    }
+    var version = new EngineVersionEvaluator(getLog(), engineDir).evaluateVersion();
+    return version != null && getIvyVersionRange().containsVersion(version);
+  }
+
+  private static void replaceEngineDirectory(Path engineDir, Path staging) throws IOException {
+    if (Files.exists(engineDir)) {
+      var outdated = engineDir.resolveSibling("." + engineDir.getFileName() + ".outdated-" + System.nanoTime());
+      Files.move(engineDir, outdated, StandardCopyOption.ATOMIC_MOVE);
+      PathUtils.delete(outdated);
+    }
+    Files.move(staging, engineDir, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  private void installIntoEngineDirectory(EngineDownloader engineDownloader, boolean cleanEngineDir) throws MojoExecutionException {
+    if (!isEngineDirectoryIdentified()) {
+      throw new MojoExecutionException("Neither an engineDirectory nor an engineCacheDirectory is configured.");
+    }
+    installEngine(engineDownloader, getRawEngineDirectory(), cleanEngineDir);
+  }
+
+  private void installEngine(EngineDownloader engineDownloader, Path targetDir, boolean cleanTargetDir) throws MojoExecutionException {
+    if (!streamingInstall || !streamAndInstallEngine(engineDownloader, targetDir, cleanTargetDir)) {
+      downloadAndUnpackEngine(engineDownloader, targetDir, cleanTargetDir);
+    }
+  }
+
+  private void downloadAndUnpackEngine(EngineDownloader engineDownloader, Path targetDir, boolean cleanTargetDir) throws MojoExecutionException {
+    var downloadZip = engineDownloader.downloadEngine();
+
+    if (cleanTargetDir) {
+      removeOldEngineContent(targetDir);
+    }
+    createDirectories(targetDir);
+
+    unpackEngine(downloadZip, targetDir);
+
+    if (engineDownloader.isDownloadTemporary()) {
+      try {
+        Files.delete(downloadZip);
+      } catch (IOException ex) {
+        throw new MojoExecutionException("Could not delete file " + downloadZip.toAbsolutePath(), ex);
+      }
+    }
+  }
+
+  private boolean streamAndInstallEngine(EngineDownloader engineDownloader, Path targetDir, boolean cleanTargetDir) throws MojoExecutionException {
+    if (!(engineDownloader instanceof URLEngineDownloader urlDownloader)) {
+      getLog().info("Streaming install is only supported for URL downloads. Downloading the engine zip.");
+      return false;
+    }
+    if (!engineDownloader.isDownloadTemporary()) {
+      getLog().info("Streaming install is not used as downloaded engines are cached. Downloading the engine zip.");
+      return false;
+    }
+    urlDownloader.resolveEngineUrl();
+    if (cleanTargetDir) {
+      removeOldEngineContent(targetDir);
+    }
+    createDirectories(targetDir);
+    try {
+      urlDownloader.downloadAndUnpack(targetDir);
+      return true;
+    } catch (IOException ex) {
+      getLog().warn("Engine archive can not be unpacked while downloading: " + ex.getMessage()
+          + ". Falling back to download and unpack.");
+      if (cleanTargetDir) {
+        removeOldEngineContent(targetDir);
+      } // else: keep foreign content, the unpack overwrites the partially streamed files
+      return false;
+    }
+  }
+
+  private static void createDirectories(Path dir) throws MojoExecutionException {
+    try {
+      Files.createDirectories(dir);
+    } catch (IOException ex) {
+      throw new MojoExecutionException("Could not create directories " + dir, ex);
+    }
+  }
+
   public EngineDownloader getDownloader() throws MojoExecutionException {
     if (downloadUsingMaven) {
       return new MavenEngineDownloader(getLog(), ivyVersion, osArchitecture, pluginRepositories,
@@ -244,8 +434,13 @@ public class InstallEngineMojo extends AbstractEngineMojo {
     }
 
     ProxyInfoProvider proxies = wagonManager::getProxy;
-    return new URLEngineDownloader(engineDownloadUrl, engineListPageUrl, osArchitecture, ivyVersion,
-        getIvyVersionRange(), getLog(), getDownloadDirectory(), proxies);
+    var downloader = new URLEngineDownloader(engineDownloadUrl, engineListPageUrl, osArchitecture, ivyVersion,
+        getIvyVersionRange(), getLog(), getDownloadDirectory(), proxies, downloadThreads);
+    if (engineDownloadCacheDirectory != null) {
+      downloader.cache(new EngineZipCache(engineDownloadCacheDirectory,
+          engineDownloadCacheMaxSizeInMb * 1024 * 1024, getLog()));
+    }
+    return downloader;
   }
 
   static String ivyEngineVersionOfZip(String engineZipFileName) {
@@ -259,12 +454,9 @@ public class InstallEngineMojo extends AbstractEngineMojo {
     return engineZipFileName; // fallback: no version in file name
   }
 
-  private void removeOldEngineContent() throws MojoExecutionException {
-    var dir = getRawEngineDirectory();
+  private void removeOldEngineContent(Path dir) throws MojoExecutionException {
     try {
-      if (dir != null) {
-        PathUtils.clean(dir);
-      }
+      PathUtils.clean(dir);
     } catch (Exception ex) {
       throw new MojoExecutionException("Failed to clean outdated ivy Engine directory '" + dir + "'.", ex);
     }
@@ -274,11 +466,19 @@ public class InstallEngineMojo extends AbstractEngineMojo {
     return !Files.isDirectory(getRawEngineDirectory()) || ArrayUtils.isEmpty(getRawEngineDirectory().toFile().listFiles());
   }
 
-  private void unpackEngine(Path downloadZip) throws MojoExecutionException {
-    String targetLocation = getRawEngineDirectory().toAbsolutePath().toString();
-    getLog().info("Unpacking engine " + downloadZip.toAbsolutePath() + " to " + targetLocation);
-    try (var engineZip = new ZipFile(downloadZip.toFile())) {
-      engineZip.extractAll(targetLocation);
+  private void unpackEngine(Path downloadZip, Path targetDir) throws MojoExecutionException {
+    String targetLocation = targetDir.toAbsolutePath().toString();
+    int threads = unpackThreads != null ? unpackThreads : Runtime.getRuntime().availableProcessors();
+    getLog().info("Unpacking engine " + downloadZip.toAbsolutePath() + " to " + targetLocation
+        + " using " + threads + " thread(s)");
+    try {
+      if (threads > 1) {
+        new ParallelZipExtractor(threads).extract(downloadZip, targetDir);
+      } else {
+        try (var engineZip = new ZipFile(downloadZip.toFile())) {
+          engineZip.extractAll(targetLocation);
+        }
+      }
     } catch (IOException ex) {
       throw new MojoExecutionException("Failed to unpack downloaded engine '" + downloadZip + "'.", ex);
     }
@@ -22,8 +22,8 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 
 import org.apache.commons.lang3.StringUtils;
-import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
 
@@ -61,8 +61,6 @@ public abstract class AbstractDeployMojo extends AbstractIntegrationTestMojo {
 
   @Parameter(property = "project", required = false, readonly = true)
   protected MavenProject project;
-  @Parameter(property = "session", required = true, readonly = true)
-  MavenSession session;
 
   /**
    * The maximum amount of seconds that we wait for a deployment result from the
@@ -124,13 +122,17 @@ public abstract class AbstractDeployMojo extends AbstractIntegrationTestMojo {
   }
 
   protected final void deployToDirectory(Path resolvedOptionsFile, Path deployDir) throws MojoExecutionException {
+    deployToDirectory(resolvedOptionsFile, deployDir, getLog());
+  }
+
+  protected final void deployToDirectory(Path resolvedOptionsFile, Path deployDir, Log log) throws MojoExecutionException {
     var targetDeployableFile = createTargetDeployableFile(deployDir);
     var deployablePath = deployDir.relativize(targetDeployableFile).toString();
     var deployer = new FileDeployer(deployDir, resolvedOptionsFile, deployTimeoutInSeconds, deployFile, targetDeployableFile);
-    deployer.deploy(deployablePath, getLog());
+    deployer.deploy(deployablePath, log);
   }
 
-  private final Path createTargetDeployableFile(Path deployDir) {
+  protected final Path createTargetDeployableFile(Path deployDir) {
     return deployDir
         .resolve(deployToEngineSecurityContext)
         .resolve(deployToEngineApplication)
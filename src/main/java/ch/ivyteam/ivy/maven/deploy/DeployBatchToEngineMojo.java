@@ -0,0 +1,121 @@
+package ch.ivyteam.ivy.maven.deploy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+import ch.ivyteam.ivy.maven.engine.deploy.BatchDeployment;
+import ch.ivyteam.ivy.maven.engine.deploy.dir.DeploymentFiles;
+
+/**
+ * <p>
+ * Deploys many projects (iar) and applications (zip) to a running Axon Ivy
+ * Engine with a single deployment.
+ * </p>
+ *
+ * <p>
+ * All {@link #deployFiles} are staged in one application zip, which is
+ * deployed like the <code>deployFile</code> of the
+ * {@link DeployToEngineMojo#GOAL} goal. Afterwards the result of each artifact
+ * is reported, as far as it can be evaluated from the deployment log. The
+ * log is only available with the <code>DIRECTORY</code> deploy method, with
+ * other methods the result of each artifact is unknown.
+ * </p>
+ *
+ * <pre>
+ * mvn com.axonivy.ivy.ci:project-build-plugin:14.0.0:deploy-batch-to-engine
+ * -Divy.deploy.files=a.iar,b.iar,c.zip
+ * -Divy.deploy.engine.dir=c:/axonivy/engine
+ * -Divy.deploy.engine.app=Portal
+ * </pre>
+ *
+ * @since 14.0.0
+ */
+@Mojo(name = DeployBatchToEngineMojo.GOAL, requiresProject = false)
+public class DeployBatchToEngineMojo extends DeployToEngineMojo {
+
+  public static final String GOAL = "deploy-batch-to-engine";
+
+  /**
+   * The files to deploy. Each can either be a *.iar project file or a *.zip
+   * file containing a full application (set of projects).
+   */
+  @Parameter(property = "ivy.deploy.files")
+  List<Path> deployFiles;
+
+  @Override
+  public void execute() throws MojoExecutionException, MojoFailureException {
+    if (skipDeploy) {
+      getLog().info("Skipping deployment to engine.");
+      return;
+    }
+    if (StringUtils.isEmpty(deployToEngineApplication)) {
+      throw new MojoExecutionException(
+          "The parameter 'deployToEngineApplication' for goal " + GOAL + " is missing.");
+    }
+    var artifacts = existingDeployFiles();
+    if (artifacts.isEmpty()) {
+      getLog().warn("Skipping batch deployment to engine. No files to deploy.");
+      return;
+    }
+
+    var batch = new BatchDeployment(artifacts);
+    try {
+      deployFile = batch.stage(batchZip());
+    } catch (IOException ex) {
+      throw new MojoExecutionException("Failed to stage batch deployment", ex);
+    }
+    getLog().info("Deploying " + artifacts.size() + " artifacts in " + deployFile.getFileName());
+    try {
+      deployWithOptions();
+      batch.report(batch.results(readDeploymentLog(), true), getLog());
+    } catch (MojoExecutionException ex) {
+      batch.report(batch.results(readDeploymentLog(), false), getLog());
+      throw ex;
+    }
+  }
+
+  private List<Path> existingDeployFiles() {
+    var files = new ArrayList<Path>();
+    if (deployFiles == null) {
+      return files;
+    }
+    for (var file : deployFiles) {
+      if (Files.isRegularFile(file)) {
+        files.add(file);
+      } else {
+        getLog().warn("Skipping deployment of '" + file + "' to engine. The file does not exist.");
+      }
+    }
+    return files;
+  }
+
+  private Path batchZip() {
+    return Path.of(project.getBuild().getDirectory()).resolve(deployToEngineApplication + "-batch.zip");
+  }
+
+  private List<String> readDeploymentLog() {
+    if (!DeployMethod.DIRECTORY.equals(deployMethod)) {
+      getLog().info("The result of each artifact is only evaluated for the " + DeployMethod.DIRECTORY
+          + " deploy method.");
+      return List.of();
+    }
+    try {
+      var deployLog = new DeploymentFiles(createTargetDeployableFile(getDeployDirectory())).log();
+      if (Files.exists(deployLog)) {
+        return Files.readAllLines(deployLog);
+      }
+    } catch (MojoExecutionException | IOException ex) {
+      getLog().debug("Could not read deployment log", ex);
+    }
+    return List.of();
+  }
+}
@@ -19,6 +19,8 @@ package ch.ivyteam.ivy.maven.deploy;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
 
 import javax.inject.Inject;
 
@@ -31,6 +33,7 @@ import org.apache.maven.settings.Server;
 import org.sonatype.plexus.components.sec.dispatcher.SecDispatcher;
 
 import ch.ivyteam.ivy.maven.engine.deploy.DeploymentOptionsFileFactory;
+import ch.ivyteam.ivy.maven.engine.deploy.MultiEngineDeployment;
 import ch.ivyteam.ivy.maven.engine.deploy.http.HttpDeployer;
 
 /**
@@ -66,6 +69,19 @@ import ch.ivyteam.ivy.maven.engine.deploy.http.HttpDeployer;
  * -Divy.deploy.engine.app=portal
  * </pre>
  *
+ * <p>
+ * Many remote Engines (deployed concurrently):
+ * </p>
+ *
+ * <pre>
+ * mvn com.axonivy.ivy.ci:project-build-plugin:14.0.0:deploy-to-engine
+ * -Divy.deploy.file=myProject.iar
+ * -Divy.deploy.method=HTTP
+ * -Divy.deploy.server.id=AxonIvyEngine
+ * -Divy.deploy.engine.urls=http://node1:8080/ivy,http://node2:8080/ivy
+ * -Divy.deploy.engine.app=portal
+ * </pre>
+ *
  * @since 7.1.0
  */
 @Mojo(name = DeployToEngineMojo.GOAL, requiresProject = false)
@@ -125,6 +141,48 @@ public class DeployToEngineMojo extends AbstractDeployMojo {
   @Parameter(property = "ivy.deploy.engine.url", defaultValue = HTTP_ENGINE_URL_DEFAULT)
   String deployEngineUrl;
 
+  /**
+   * How many times an HTTP upload is repeated if the connection fails before
+   * the file was sent completely. Retries wait with an exponential backoff.
+   * @since 14.0.0
+   */
+  @Parameter(property = "ivy.deploy.http.retries", defaultValue = "3")
+  int deployRetries;
+
+  /**
+   * Engines to deploy to with the <code>DIRECTORY</code> deploy method. If
+   * set, the file is deployed concurrently to all of these engines instead of
+   * the {@link #deployEngineDirectory}.
+   * @since 14.0.0
+   */
+  @Parameter(property = "ivy.deploy.engine.dirs")
+  List<Path> deployEngineDirectories;
+
+  /**
+   * Engine urls to deploy to with the <code>HTTP</code> deploy method. If set,
+   * the file is deployed concurrently to all of these engines instead of the
+   * {@link #deployEngineUrl}.
+   * @since 14.0.0
+   */
+  @Parameter(property = "ivy.deploy.engine.urls")
+  List<String> deployEngineUrls;
+
+  /**
+   * Maximum number of engines that are deployed to at the same time, if the
+   * file is deployed to many engines.
+   * @since 14.0.0
+   */
+  @Parameter(property = "ivy.deploy.parallelism", defaultValue = "4")
+  int deployParallelism;
+
+  /**
+   * The maximum amount of seconds that the deployment to one engine may take,
+   * if the file is deployed to many engines. No limit by default.
+   * @since 14.0.0
+   */
+  @Parameter(property = "ivy.deploy.node.timeout.seconds")
+  Integer deployNodeTimeoutInSeconds;
+
   @Inject
   private SecDispatcher secDispatcher;
 
@@ -140,17 +198,25 @@ public class DeployToEngineMojo extends AbstractDeployMojo {
     deployWithOptions();
   }
 
-  private void deployWithOptions() throws MojoExecutionException {
+  void deployWithOptions() throws MojoExecutionException {
     getLog().info("Deploying project " + deployFile.getFileName());
     if (DeployMethod.DIRECTORY.equals(deployMethod)) {
       var resolvedOptionsFile = createDeployOptionsFile(new DeploymentOptionsFileFactory(deployFile));
       try {
-        deployToDirectory(resolvedOptionsFile);
+        if (isEmpty(deployEngineDirectories)) {
+          deployToDirectory(resolvedOptionsFile);
+        } else {
+          deployToDirectories(resolvedOptionsFile);
+        }
       } finally {
         deleteFile(resolvedOptionsFile);
       }
     } else if (DeployMethod.HTTP.equals(deployMethod)) {
-      deployToRestService();
+      if (isEmpty(deployEngineUrls)) {
+        deployToRestService();
+      } else {
+        deployToRestServices();
+      }
     } else {
       getLog().warn("Invalid deploy method  " + deployMethod
           + " configured in parameter deployMethod (Supported values are " + DeployMethod.DIRECTORY + ", "
@@ -175,16 +241,56 @@ public class DeployToEngineMojo extends AbstractDeployMojo {
     deployToDirectory(resolvedOptionsFile, deployDir);
   }
 
+  private void deployToDirectories(Path resolvedOptionsFile) throws MojoExecutionException {
+    checkDirParams();
+    var nodes = deployEngineDirectories.stream().map(Path::toString).toList();
+    deployToAll(nodes, (node, log, _) -> {
+      var deployDir = Path.of(node).resolve(deployDirectory);
+      if (!Files.exists(deployDir)) {
+        throw new MojoExecutionException("The deploy directory '" + deployDir + "' does not exist.");
+      }
+      deployToDirectory(resolvedOptionsFile, deployDir, log);
+    });
+  }
+
   private void deployToRestService() throws MojoExecutionException {
     checkHttpParams();
+    createHttpDeployer(deployEngineUrl).deploy(getLog());
+  }
 
+  private void deployToRestServices() throws MojoExecutionException {
+    checkHttpParams();
+    deployToAll(deployEngineUrls, (node, log, abort) -> {
+      var deployer = createHttpDeployer(node);
+      abort.onAbort(deployer::abort);
+      deployer.deploy(log);
+    });
+  }
+
+  private HttpDeployer createHttpDeployer(String engineUrl) {
     Server server = session.getSettings().getServer(deployServerId);
     if (server == null) {
       getLog().warn("Can not load credentials from settings.xml because server '" + deployServerId
           + "' is not definied. Try to deploy with default username, password");
     }
-    var httpDeployer = new HttpDeployer(secDispatcher, server, deployEngineUrl, deployToEngineSecurityContext, deployToEngineApplication, deployToEngineApplicationVersion, deployFile, deployTestUsers);
-    httpDeployer.deploy(getLog());
+    return new HttpDeployer(secDispatcher, server, engineUrl, deployToEngineSecurityContext, deployToEngineApplication, deployToEngineApplicationVersion, deployFile, deployTestUsers)
+        .retries(deployRetries);
+  }
+
+  private void deployToAll(List<String> nodes, MultiEngineDeployment.NodeDeployer deployer) throws MojoExecutionException {
+    getLog().info("Deploying to " + nodes.size() + " engines, " + deployParallelism + " at a time");
+    var timeout = deployNodeTimeoutInSeconds == null ? null : Duration.ofSeconds(deployNodeTimeoutInSeconds);
+    try {
+      var results = new MultiEngineDeployment(deployParallelism, timeout).deploy(nodes, deployer, getLog());
+      MultiEngineDeployment.report(results, getLog());
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new MojoExecutionException("Deployment to engines interrupted", ex);
+    }
+  }
+
+  private static boolean isEmpty(List<?> list) {
+    return list == null || list.isEmpty();
   }
 
   private void checkHttpParams() {
@@ -213,7 +319,7 @@ public class DeployToEngineMojo extends AbstractDeployMojo {
         + " deployment.");
   }
 
-  private Path getDeployDirectory() throws MojoExecutionException {
+  Path getDeployDirectory() throws MojoExecutionException {
     if (deployEngineDirectory == null || engineToTarget()) { // re-use engine used to build
       deployEngineDirectory = getEngineDir(project);
     }
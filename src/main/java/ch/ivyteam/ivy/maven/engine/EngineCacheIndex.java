@@ -0,0 +1,173 @@
+package ch.ivyteam.ivy.maven.engine;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+import org.apache.commons.lang3.Strings;
+import org.apache.maven.artifact.versioning.ArtifactVersion;
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.apache.maven.plugin.logging.Log;
+
+import ch.ivyteam.ivy.maven.engine.EngineClassLoaderFactory.OsgiDir;
+
+/**
+ * Persisted index of the engines unpacked in the engine cache directory.
+ *
+ * <p>
+ * Remembers the version, install timestamp and architecture of every engine
+ * directory, so that its version must not be evaluated by listing the
+ * <code>system/plugins</code> directory again. An entry is only trusted as long
+ * as the modification time of the plugins directory did not change.
+ * </p>
+ *
+ * @since 14.0.0
+ */
+public class EngineCacheIndex {
+
+  public static final String FILE_NAME = ".engine-index.properties";
+
+  private static final String VERSION = ".version";
+  private static final String MODIFIED = ".modified";
+  private static final String INSTALLED = ".installed";
+  private static final String ARCH = ".arch";
+
+  private final Path cacheDirectory;
+  private final Log log;
+  private final Map<String, Entry> entries = new LinkedHashMap<>();
+  private boolean dirty = false;
+
+  public record Entry(ArtifactVersion version, long pluginsModified, long installed, String arch) {}
+
+  public EngineCacheIndex(Path cacheDirectory, Log log) {
+    this.cacheDirectory = cacheDirectory;
+    this.log = log;
+    load();
+  }
+
+  /**
+   * @return all engines in the cache directory with their version. Engines
+   *         which are not (or no longer validly) indexed are evaluated and
+   *         added to the index.
+   */
+  public Map<Path, ArtifactVersion> engines() throws IOException {
+    var engines = new LinkedHashMap<Path, ArtifactVersion>();
+    var existing = new HashSet<String>();
+    try (Stream<Path> dirs = Files.list(cacheDirectory)) {
+      for (var dir : dirs.filter(Files::isDirectory).toList()) {
+        var name = dir.getFileName().toString();
+        if (name.startsWith(".")) { // e.g. staging directory of an installation in progress
+          continue;
+        }
+        existing.add(name);
+        var version = version(dir);
+        if (version != null) {
+          engines.put(dir, version);
+        }
+      }
+    }
+    dirty |= entries.keySet().retainAll(existing);
+    save();
+    return engines;
+  }
+
+  /**
+   * Records a freshly installed engine.
+   */
+  public void register(Path engineDir, ArtifactVersion version, String arch) {
+    var entry = new Entry(version, pluginsModified(engineDir), System.currentTimeMillis(), arch);
+    entries.put(engineDir.getFileName().toString(), entry);
+    dirty = true;
+    save();
+  }
+
+  public Entry get(Path engineDir) {
+    return entries.get(engineDir.getFileName().toString());
+  }
+
+  private ArtifactVersion version(Path engineDir) {
+    var name = engineDir.getFileName().toString();
+    long modified = pluginsModified(engineDir);
+    var entry = entries.get(name);
+    if (entry != null && entry.pluginsModified() == modified) {
+      return entry.version();
+    }
+    var version = new EngineVersionEvaluator(log, engineDir).evaluateVersion();
+    if (version == null) {
+      dirty |= entries.remove(name) != null;
+      return null;
+    }
+    var arch = entry == null ? null : entry.arch();
+    entries.put(name, new Entry(version, modified, modified, arch));
+    dirty = true;
+    return version;
+  }
+
+  private static long pluginsModified(Path engineDir) {
+    try {
+      return Files.getLastModifiedTime(engineDir.resolve(OsgiDir.PLUGINS)).toMillis();
+    } catch (IOException ex) {
+      return -1;
+    }
+  }
+
+  private void load() {
+    var file = cacheDirectory.resolve(FILE_NAME);
+    if (!Files.isRegularFile(file)) {
+      return;
+    }
+    var props = new Properties();
+    try (var in = Files.newInputStream(file)) {
+      props.load(in);
+    } catch (IOException ex) {
+      log.debug("Ignoring unreadable engine cache index " + file, ex);
+      return;
+    }
+    for (var key : props.stringPropertyNames()) {
+      if (key.endsWith(VERSION)) {
+        var name = Strings.CS.removeEnd(key, VERSION);
+        try {
+          entries.put(name, new Entry(
+              new DefaultArtifactVersion(props.getProperty(key)),
+              Long.parseLong(props.getProperty(name + MODIFIED)),
+              Long.parseLong(props.getProperty(name + INSTALLED)),
+              props.getProperty(name + ARCH)));
+        } catch (NumberFormatException ex) {
+          log.debug("Ignoring invalid engine cache index entry " + name, ex);
+        }
+      }
+    }
+  }
+
+  private void save() {
+    if (!dirty) {
+      return;
+    }
+    var props = new Properties();
+    entries.forEach((name, entry) -> {
+      props.setProperty(name + VERSION, entry.version().toString());
+      props.setProperty(name + MODIFIED, Long.toString(entry.pluginsModified()));
+      props.setProperty(name + INSTALLED, Long.toString(entry.installed()));
+      if (entry.arch() != null) {
+        props.setProperty(name + ARCH, entry.arch());
+      }
+    });
+    try {
+      var tmp = Files.createTempFile(cacheDirectory, "engine-index", ".tmp");
+      try (var out = Files.newOutputStream(tmp)) {
+        props.store(out, "engines in cache directory");
+      }
+      Files.move(tmp, cacheDirectory.resolve(FILE_NAME), StandardCopyOption.ATOMIC_MOVE,
+          StandardCopyOption.REPLACE_EXISTING);
+      dirty = false;
+    } catch (IOException ex) {
+      log.debug("Could not write engine cache index in " + cacheDirectory, ex);
+    }
+  }
+}
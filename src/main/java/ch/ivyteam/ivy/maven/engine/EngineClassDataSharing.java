@@ -0,0 +1,128 @@
+package ch.ivyteam.ivy.maven.engine;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.apache.maven.plugin.logging.Log;
+
+import ch.ivyteam.ivy.maven.util.ClasspathJar;
+import ch.ivyteam.ivy.maven.util.Sha256;
+
+/**
+ * Class data sharing (AppCDS) archives that speed up the class loading of an
+ * engine JVM.
+ *
+ * <p>
+ * The archive is created by the JVM when the engine runs the first time
+ * (<code>-XX:+AutoCreateSharedArchive</code>) and mapped on later starts. An
+ * archive belongs to the directory of the started engine, and is named after
+ * its version and a fingerprint of the directory, the JVM and the content of
+ * the engine bootstrap classpath. If the JVM or the engine changes, a new
+ * archive is created and the outdated one is deleted.
+ * </p>
+ *
+ * <p>
+ * The JVM only accepts an archive if the classpath, and the paths, sizes and
+ * modification times of its jars, are unchanged. Therefore the engine is
+ * launched with a classpath jar that is stored next to the archive and
+ * references the bootstrap jars of the started engine. A clean copy of the
+ * engine into the same directory keeps them, as the {@link EngineProvisioner}
+ * links or copies them with their attributes.
+ * </p>
+ *
+ * @since 14.0.0
+ */
+public class EngineClassDataSharing {
+
+  static final String ARCHIVE_EXTENSION = ".jsa";
+  static final String CLASSPATH_EXTENSION = ".jar";
+
+  private final Path archiveDir;
+  private final Path engineDir;
+  private final Log log;
+
+  /**
+   * @param archiveDir directory to store the archives, e.g. a sub directory of
+   *          the engine cache directory
+   * @param engineDir the engine that is started, whose bootstrap jars the
+   *          archive is created from
+   */
+  public EngineClassDataSharing(Path archiveDir, Path engineDir, Log log) {
+    this.archiveDir = archiveDir;
+    this.engineDir = engineDir;
+    this.log = log;
+  }
+
+  /**
+   * Prepares the archive of the started engine.
+   */
+  Archive prepare() throws IOException {
+    var bootClasspath = EngineClassLoaderFactory.getOsgiBootstrapClasspath(engineDir).stream()
+        .sorted()
+        .toList();
+    var prefix = engineId(engineDir, log);
+    var name = prefix + "-" + fingerprint(engineDir, bootClasspath);
+    var archive = new Archive(archiveDir.resolve(name + ARCHIVE_EXTENSION),
+        archiveDir.resolve(name + CLASSPATH_EXTENSION));
+
+    Files.createDirectories(archiveDir);
+    deleteOutdated(prefix, name);
+    if (!Files.exists(archive.classpathJar())) {
+      new ClasspathJar(archive.classpathJar()).createFileEntries(bootClasspath);
+    }
+    if (Files.exists(archive.file())) {
+      log.info("Using class data sharing archive " + archive.file());
+    } else {
+      log.info("Creating class data sharing archive " + archive.file() + " during this engine run");
+    }
+    return archive;
+  }
+
+  private void deleteOutdated(String prefix, String name) throws IOException {
+    try (var files = Files.list(archiveDir)) {
+      for (var file : files.toList()) {
+        var fileName = file.getFileName().toString();
+        if (fileName.startsWith(prefix + "-") && !fileName.startsWith(name + ".")) {
+          log.debug("Deleting outdated class data sharing file " + file);
+          Files.deleteIfExists(file);
+        }
+      }
+    }
+  }
+
+  /**
+   * @return the version of the engine and an id of its location
+   */
+  static String engineId(Path engineDir, Log log) {
+    var location = Sha256.of(engineDir.toAbsolutePath().normalize().toString()).substring(0, 8);
+    var version = new EngineVersionEvaluator(log, engineDir).evaluateVersion();
+    return version == null ? location : version + "-" + location;
+  }
+
+  /**
+   * @return a fingerprint of the engine directory, the JVM and the content of
+   *         the engine bootstrap classpath, that changes as soon as an archive
+   *         would no longer match.
+   */
+  static String fingerprint(Path engineDir, List<Path> bootClasspath) throws IOException {
+    var state = new StringBuilder();
+    state.append(engineDir.toAbsolutePath().normalize()).append('\n');
+    state.append(System.getProperty("java.home")).append('\n');
+    state.append(System.getProperty("java.vm.version")).append('\n');
+    for (var entry : bootClasspath) {
+      state.append(engineDir.relativize(entry).toString().replace('\\', '/')).append(':')
+          .append(Files.size(entry)).append(':')
+          .append(Sha256.of(entry)).append('\n');
+    }
+    return Sha256.of(state.toString()).substring(0, 16);
+  }
+
+  record Archive(Path file, Path classpathJar) {
+
+    List<String> vmArgs() {
+      return List.of("-XX:+AutoCreateSharedArchive", "-XX:SharedArchiveFile=" + file.toAbsolutePath());
+    }
+  }
+}
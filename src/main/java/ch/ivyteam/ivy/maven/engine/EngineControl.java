@@ -16,11 +16,8 @@
 
 package ch.ivyteam.ivy.maven.engine;
 
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.http.HttpClient;
@@ -30,18 +27,20 @@ import java.net.http.HttpResponse;
 import java.net.http.HttpResponse.BodyHandlers;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Strings;
 import org.apache.commons.lang3.time.StopWatch;
 
-import ch.ivyteam.ivy.maven.engine.EngineClassLoaderFactory.OsgiDir;
 import ch.ivyteam.ivy.maven.test.StartTestEngineMojo;
 
 /**
@@ -51,6 +50,8 @@ public class EngineControl {
   public interface Property {
     String TEST_ENGINE_URL = "test.engine.url";
     String TEST_ENGINE_LOG = "test.engine.log";
+    String TEST_ENGINE_START_MILLIS = "test.engine.start.millis";
+    String TEST_ENGINE_FIRST_BYTE_MILLIS = "test.engine.first.byte.millis";
   }
 
   /**
@@ -60,8 +61,22 @@ public class EngineControl {
     STOPPED, STARTING, RUNNING, STOPPING, UNREGISTERED, FAILED;
   }
 
+  private static final HttpClient HTTP_CLIENT = HttpClient.newBuilder()
+      .followRedirects(Redirect.NEVER)
+      .connectTimeout(Duration.ofSeconds(5))
+      .build();
+
+  private static final String LAUNCHER_MAIN_CLASS = "org.eclipse.equinox.launcher.Main";
+  private static final String FLIGHT_RECORDING_NAME = "engine-start";
+
   private final EngineMojoContext context;
-  private final AtomicBoolean engineStarted = new AtomicBoolean(false);
+  private URI readinessUri;
+  private EngineClassDataSharing classDataSharing;
+  private Path timelineFile;
+  private Path flightRecording;
+  private EngineStartTimeline timeline;
+  private final CompletableFuture<String> engineUrl = new CompletableFuture<>();
+  private Duration startLatency;
 
   private enum Command {
     start, stop, status
@@ -71,38 +86,187 @@ public class EngineControl {
     this.context = context;
   }
 
+  /**
+   * Detects the engine start by probing the given HTTP endpoint of the engine
+   * instead of reading the engine output.
+   */
+  public EngineControl readinessProbe(URI probeUri) {
+    this.readinessUri = probeUri;
+    return this;
+  }
+
+  /**
+   * Starts the engine with a class data sharing archive, that is created on
+   * the first start.
+   */
+  public EngineControl classDataSharing(EngineClassDataSharing cds) {
+    this.classDataSharing = cds;
+    return this;
+  }
+
+  /**
+   * Writes the {@link EngineStartTimeline phases of the engine start} as JSON
+   * to the given file.
+   */
+  public EngineControl startTimeline(Path jsonFile) {
+    this.timelineFile = jsonFile;
+    return this;
+  }
+
+  /**
+   * Records the engine start with the Java Flight Recorder into the given
+   * file. The recording is stopped once the engine is started, or at the
+   * latest after the start timeout.
+   */
+  public EngineControl flightRecording(Path jfrFile) {
+    this.flightRecording = jfrFile;
+    return this;
+  }
+
   public Process start() throws Exception {
     var builder = toProcessBuilder(Command.start);
+    if (classDataSharing != null) {
+      useClassDataSharing(builder, classDataSharing.prepare());
+    }
+    if (flightRecording != null) {
+      context.log.info("Recording engine start to " + flightRecording);
+      addVmArgs(builder, List.of("-XX:StartFlightRecording=name=" + FLIGHT_RECORDING_NAME
+          + ",settings=profile,duration=" + context.timeoutInSeconds + "s"
+          + ",filename=\"" + flightRecording.toAbsolutePath() + "\""));
+    }
     context.log.info("Start Axon Ivy Engine in folder: " + context.engineDirectory);
     var redirectTo = redirectEngineLog(builder);
 
-    var process = builder.start();
-
-    var inputStream = redirectTo == null ? process.getInputStream() : Files.newInputStream(redirectTo);
+    long startTime = System.nanoTime();
+    timeline = new EngineStartTimeline(startTime);
     try {
-      var streamHandler = new ProcessStreamHandler(inputStream);
-      streamHandler.start();
-
-      process.onExit()
-          .thenAccept(_ -> context.log.info("Engine process stopped."))
-          .exceptionally(ex -> {
-            throw new RuntimeException("Engine operation failed.", ex);
-          });
+      return start(builder, redirectTo, startTime);
+    } finally {
+      writeStartTimeline();
+    }
+  }
 
+  private Process start(ProcessBuilder builder, Path redirectTo, long startTime) throws Exception {
+    var process = builder.start();
+    timeline.mark(EngineStartTimeline.Phase.PROCESS_SPAWNED);
+    EngineProcesses.register(context.engineDirectory, process.toHandle());
+    process.onExit().thenAccept(_ -> {
+      context.log.info("Engine process stopped.");
+      engineUrl.completeExceptionally(new IllegalStateException("Engine process stopped before it was started. "
+          + "Check the engine log for details."));
+    });
+
+    EngineOutputReader reader;
+    if (readinessUri == null) {
+      reader = redirectTo == null
+          ? new EngineOutputReader(process.getInputStream(), null, this::findStartEngineUrl)
+          : EngineOutputReader.tail(redirectTo, this::findStartEngineUrl);
+      reader.setUncaughtExceptionHandler((_, ex) -> engineUrl.completeExceptionally(ex));
+    } else {
+      reader = redirectTo == null
+          ? new EngineOutputReader(process.getInputStream(), null, this::logLine)
+          : EngineOutputReader.tail(redirectTo, this::logLine);
+      startReadinessProbe(startTime);
+    }
+    reader.start();
+    try {
       waitForEngineStarted();
-      return process;
     } finally {
-      if (redirectTo != null) {
-        inputStream.close();
+      reader.interrupt();
+    }
+    timeline.mark(EngineStartTimeline.Phase.HTTP_READY);
+    if (flightRecording != null) {
+      stopFlightRecording(process.pid());
+    }
+    startLatency = Duration.ofNanos(System.nanoTime() - startTime);
+    context.log.info("Engine started after " + startLatency.toMillis() + " [ms]");
+    context.properties.setMavenProperty(Property.TEST_ENGINE_START_MILLIS, Long.toString(startLatency.toMillis()));
+    return process;
+  }
+
+  /**
+   * Ends the recording once the engine is started, so that it does not cover
+   * the tests that run against the engine.
+   */
+  private void stopFlightRecording(long pid) {
+    var jcmd = System.getProperty("java.home") + File.separator + "bin" + File.separator + "jcmd";
+    var builder = new ProcessBuilder(jcmd, Long.toString(pid), "JFR.stop", "name=" + FLIGHT_RECORDING_NAME)
+        .redirectErrorStream(true);
+    try {
+      var process = builder.start();
+      if (!process.waitFor(context.timeoutInSeconds, TimeUnit.SECONDS)) {
+        process.destroyForcibly();
+        context.log.warn("Stopping the flight recording of the engine start timed out");
+        return;
+      }
+      var output = new String(process.getInputStream().readAllBytes());
+      if (process.exitValue() != 0) {
+        context.log.warn("Could not stop the flight recording of the engine start: " + output.strip());
+        return;
       }
+      context.log.info("Engine start recorded to " + flightRecording);
+    } catch (IOException ex) {
+      context.log.warn("Could not stop the flight recording of the engine start", ex);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void writeStartTimeline() {
+    if (timelineFile == null) {
+      return;
+    }
+    try {
+      timeline.writeJson(timelineFile);
+      context.log.info("Engine start timeline written to " + timelineFile);
+    } catch (IOException ex) {
+      context.log.warn("Could not write engine start timeline to " + timelineFile, ex);
     }
   }
 
+  /**
+   * @return the phases of the last start, or <code>null</code> if the engine
+   *         was not started by this control.
+   */
+  public EngineStartTimeline getStartTimeline() {
+    return timeline;
+  }
+
+  /**
+   * @return time from launching the engine process until the engine was
+   *         started, or <code>null</code> if it was not started by this
+   *         control.
+   */
+  public Duration getStartLatency() {
+    return startLatency;
+  }
+
+  /**
+   * Sends the stop command to the engine and waits until it is stopped. If the
+   * engine process is known, its exit is awaited. Otherwise the state of the
+   * engine is polled.
+   */
   public void stop() throws Exception {
     var builder = toProcessBuilder(Command.stop);
     context.log.info("Stopping Axon Ivy Engine in folder: " + context.engineDirectory);
+    var engineProcess = EngineProcesses.find(context.engineDirectory);
     executeSynch(builder);
-    waitFor(() -> EngineState.STOPPED == state(), context.timeoutInSeconds, TimeUnit.SECONDS);
+    if (engineProcess.isPresent()) {
+      awaitExit(engineProcess.get());
+    } else {
+      context.log.debug("Engine process not found, polling the engine state");
+      waitFor(() -> EngineState.STOPPED == state(), context.timeoutInSeconds, TimeUnit.SECONDS);
+    }
+  }
+
+  private void awaitExit(ProcessHandle process) throws Exception {
+    try {
+      process.onExit().get(context.timeoutInSeconds, TimeUnit.SECONDS);
+      EngineProcesses.unregister(context.engineDirectory);
+    } catch (TimeoutException ex) {
+      throw new TimeoutException("Engine process " + process.pid() + " did not stop within "
+          + context.timeoutInSeconds + " [s]");
+    }
   }
 
   EngineState state() {
@@ -123,19 +287,17 @@ public class EngineControl {
       classpath += File.pathSeparator + context.vmOptions.additionalClasspath();
     }
 
-    var osgiDir = context.engineDirectory.resolve(OsgiDir.INSTALL_AREA);
-
     cmds.add(getJavaExec());
     cmds.add("-classpath");
     cmds.add(classpath);
     cmds.add("-Divy.engine.testheadless=true");
     cmds.add("-Djava.awt.headless=true");
-    cmds.add("-Dosgi.install.area=" + osgiDir.toAbsolutePath());
+    cmds.add(EngineProcesses.installAreaArg(context.engineDirectory));
 
     context.vmOptions.additionalVmArgs(context.log).stream().forEach(cmds::add);
     new EngineModuleHints(context.engineDirectory, context.log).asStream().forEach(cmds::add);
 
-    cmds.add("org.eclipse.equinox.launcher.Main");
+    cmds.add(LAUNCHER_MAIN_CLASS);
     cmds.add("-application");
     cmds.add("ch.ivyteam.ivy.server.exec.engine");
     cmds.add(command.toString());
@@ -148,6 +310,19 @@ public class EngineControl {
     return builder;
   }
 
+  private void useClassDataSharing(ProcessBuilder builder, EngineClassDataSharing.Archive archive) {
+    var cmds = builder.command();
+    int classpath = cmds.indexOf("-classpath") + 1;
+    cmds.set(classpath, Strings.CS.replaceOnce(cmds.get(classpath),
+        context.engineClasspathJarPath.toString(), archive.classpathJar().toString()));
+    addVmArgs(builder, archive.vmArgs());
+  }
+
+  private static void addVmArgs(ProcessBuilder builder, List<String> vmArgs) {
+    var cmds = builder.command();
+    cmds.addAll(cmds.indexOf(LAUNCHER_MAIN_CLASS), vmArgs);
+  }
+
   private Path redirectEngineLog(ProcessBuilder builder) {
     if (context.engineLogFile == null) {
       context.log.info("Do not forward engine output to a persistent location");
@@ -173,17 +348,20 @@ public class EngineControl {
   }
 
   private void waitForEngineStarted() throws Exception {
-    int i = 0;
-    while (!engineStarted.get()) {
-      Thread.sleep(500);
-      i++;
-      if (i / 2 > context.timeoutInSeconds) {
-        throw new TimeoutException("Timeout while starting engine " + context.timeoutInSeconds + " [s].\n"
-            + "Check the engine log for details or increase the timeout property '"
-            + StartTestEngineMojo.IVY_ENGINE_START_TIMEOUT_SECONDS + "'");
+    try {
+      var url = engineUrl.get(context.timeoutInSeconds, TimeUnit.SECONDS);
+      context.log.info("Axon Ivy Engine runs on : " + url);
+      context.properties.setMavenProperty(Property.TEST_ENGINE_URL, url);
+    } catch (TimeoutException ex) {
+      throw new TimeoutException("Timeout while starting engine " + context.timeoutInSeconds + " [s].\n"
+          + "Check the engine log for details or increase the timeout property '"
+          + StartTestEngineMojo.IVY_ENGINE_START_TIMEOUT_SECONDS + "'");
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof Exception cause) {
+        throw cause;
       }
+      throw ex;
     }
-    context.log.info("Engine started after " + i / 2 + " [s]");
   }
 
   private String executeSynch(ProcessBuilder statusCmd) throws IOException {
@@ -237,95 +415,66 @@ public class EngineControl {
     return watch.getDuration().toMillis();
   }
 
-  private final class ProcessStreamHandler {
-
-    private final InputStream out;
-    private Thread thread;
-
-    private ProcessStreamHandler(InputStream out) {
-      this.out = out;
-    }
-
-    public void start() {
-      thread = new OutputReaderThread(this, out);
-      thread.start();
-    }
-
-    public void stop() {
-      if (thread != null) {
-        thread.interrupt();
-      }
-      if (out != null) {
-        try {
-          out.close();
-        } catch (IOException _) {
-          // silent
-        }
+  private void startReadinessProbe(long startTime) {
+    var probe = new EngineReadinessProbe(HTTP_CLIENT, readinessUri, context.log);
+    var timeout = Duration.ofSeconds(context.timeoutInSeconds);
+    var thread = new Thread(() -> {
+      try {
+        var result = probe.await(startTime, timeout, engineUrl::isDone);
+        context.log.info("Engine answered after " + result.timeToFirstByte().toMillis() + " [ms]"
+            + " and was ready after " + result.timeToReady().toMillis() + " [ms]");
+        context.properties.setMavenProperty(Property.TEST_ENGINE_FIRST_BYTE_MILLIS,
+            Long.toString(result.timeToFirstByte().toMillis()));
+        var defaultContext = result.response().headers().firstValue("Location")
+            .map(EngineControl::evaluateIvyContextFromUrl)
+            .orElse("ivy/");
+        engineUrl.complete(readinessUri.resolve("/") + defaultContext);
+      } catch (Exception ex) {
+        engineUrl.completeExceptionally(ex);
       }
-    }
+    }, "engine-readiness-probe");
+    thread.setDaemon(true);
+    thread.start();
   }
 
-  private final class OutputReaderThread extends Thread {
-
-    private final ProcessStreamHandler handler;
-    private final BufferedReader reader;
-
-    private OutputReaderThread(ProcessStreamHandler handler, InputStream inputStream) {
-      this.handler = handler;
-      this.reader = new BufferedReader(new InputStreamReader(inputStream));
-    }
-
-    @Override
-    public void run() {
-      try {
-        while (!isInterrupted()) {
-          var line = reader.readLine();
-          if (line == null) {
-            continue;
-          }
-          context.log.debug("engine: " + line);
-          findStartEngineUrl(line);
-          if (engineStarted.get()) {
-            return;
-          }
-        }
-      } catch (IOException ex) {
-        throw new RuntimeException(ex);
-      } finally {
-        handler.stop();
-      }
+  private boolean logLine(String line) {
+    context.log.debug("engine: " + line);
+    if (timeline != null) {
+      timeline.onOutputLine(line);
     }
+    return false;
+  }
 
-    private void findStartEngineUrl(String newLine) {
-      var lowercaseNewLine = StringUtils.lowerCase(newLine);
-      if (lowercaseNewLine.contains("info page of axon ivy engine")) {
-        if (!engineStarted.get()) {
-          var url = "http://" + StringUtils.substringBetween(newLine, "http://", "/") + "/";
-          url += evaluateDefaultContext(url);
-          context.log.info("Axon Ivy Engine runs on : " + url);
-          context.properties.setMavenProperty(Property.TEST_ENGINE_URL, url);
-          engineStarted.set(true);
-        }
-      }
+  /**
+   * @return <code>true</code> once the engine url has been found
+   */
+  private boolean findStartEngineUrl(String newLine) {
+    logLine(newLine);
+    var lowercaseNewLine = StringUtils.lowerCase(newLine);
+    if (!lowercaseNewLine.contains("info page of axon ivy engine")) {
+      return false;
     }
+    var url = "http://" + StringUtils.substringBetween(newLine, "http://", "/") + "/";
+    url += evaluateDefaultContext(url);
+    engineUrl.complete(url);
+    return true;
+  }
 
-    private String evaluateDefaultContext(String url) {
-      context.log.debug("Call '" + url + "' to evaluate the default context");
-      var client = HttpClient.newBuilder().followRedirects(Redirect.NEVER).build();
-      var request = HttpRequest.newBuilder().uri(URI.create(url)).GET().build();
-      var result = "ivy/";
-      try {
-        HttpResponse<String> response = client.send(request, BodyHandlers.ofString());
-        result = response.headers().firstValue("Location").map(location -> {
-          context.log.debug("'" + url + "' returns location header: " + location);
-          String defaultContext = evaluateIvyContextFromUrl(location);
-          context.log.debug("Evalutate '" + defaultContext + "' as default context");
-          return defaultContext;
-        }).orElse(result);
-      } catch (IOException | InterruptedException _) {
-        context.log.warn("Couldn't evaluate default context of engine > use 'ivy/'");
-      }
-      return result;
+  private String evaluateDefaultContext(String url) {
+    context.log.debug("Call '" + url + "' to evaluate the default context");
+    var request = HttpRequest.newBuilder().uri(URI.create(url)).GET().build();
+    var result = "ivy/";
+    try {
+      HttpResponse<String> response = HTTP_CLIENT.send(request, BodyHandlers.ofString());
+      result = response.headers().firstValue("Location").map(location -> {
+        context.log.debug("'" + url + "' returns location header: " + location);
+        String defaultContext = evaluateIvyContextFromUrl(location);
+        context.log.debug("Evalutate '" + defaultContext + "' as default context");
+        return defaultContext;
+      }).orElse(result);
+    } catch (IOException | InterruptedException _) {
+      context.log.warn("Couldn't evaluate default context of engine > use 'ivy/'");
     }
+    return result;
   }
 }
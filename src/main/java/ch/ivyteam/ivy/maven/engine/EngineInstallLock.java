@@ -0,0 +1,83 @@
+package ch.ivyteam.ivy.maven.engine;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Exclusive lock for installing an engine into a directory, which is held
+ * across threads and processes (e.g. parallel module builds or several builds
+ * on the same agent that share the engine cache directory).
+ *
+ * <p>
+ * The lock is a {@link FileLock} on a hidden <code>.&lt;dir&gt;.lock</code>
+ * file next to the engine directory. As file locks are held by the whole JVM,
+ * threads of the same JVM are serialized by an additional in-memory lock.
+ * </p>
+ *
+ * @since 14.0.0
+ */
+public class EngineInstallLock implements AutoCloseable {
+
+  private static final Map<Path, ReentrantLock> JVM_LOCKS = new ConcurrentHashMap<>();
+
+  private final ReentrantLock jvmLock;
+  private final FileChannel channel;
+  private final FileLock fileLock;
+
+  private EngineInstallLock(ReentrantLock jvmLock, FileChannel channel, FileLock fileLock) {
+    this.jvmLock = jvmLock;
+    this.channel = channel;
+    this.fileLock = fileLock;
+  }
+
+  /**
+   * Blocks until no other thread or process is installing into the given
+   * engine directory.
+   */
+  public static EngineInstallLock acquire(Path engineDir, Log log) throws IOException {
+    var lockFile = lockFile(engineDir);
+    var jvmLock = JVM_LOCKS.computeIfAbsent(lockFile, _ -> new ReentrantLock());
+    if (!jvmLock.tryLock()) {
+      log.info("Waiting for concurrent installation of engine '" + engineDir + "'");
+      jvmLock.lock();
+    }
+    FileChannel channel = null;
+    try {
+      channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+      var fileLock = channel.tryLock();
+      if (fileLock == null) {
+        log.info("Waiting for engine '" + engineDir + "' being installed by another build");
+        fileLock = channel.lock();
+      }
+      return new EngineInstallLock(jvmLock, channel, fileLock);
+    } catch (IOException | RuntimeException ex) {
+      if (channel != null) {
+        channel.close();
+      }
+      jvmLock.unlock();
+      throw ex;
+    }
+  }
+
+  static Path lockFile(Path engineDir) {
+    var dir = engineDir.toAbsolutePath().normalize();
+    return dir.resolveSibling("." + dir.getFileName() + ".lock");
+  }
+
+  @Override
+  public void close() throws IOException {
+    try (channel) {
+      fileLock.release();
+    } finally {
+      jvmLock.unlock();
+    }
+  }
+}
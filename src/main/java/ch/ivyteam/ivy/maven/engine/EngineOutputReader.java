@@ -0,0 +1,89 @@
+package ch.ivyteam.ivy.maven.engine;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Reads the output of an engine process line by line, until the line handler
+ * is satisfied or the output ends.
+ *
+ * <p>
+ * If the output is redirected to a file, the file is tailed: at its end the
+ * reader blocks on a {@link WatchService} until the file is modified, instead
+ * of polling it. As some watch services only poll themselves, the wait is
+ * bounded.
+ * </p>
+ */
+class EngineOutputReader extends Thread {
+
+  private static final long MAX_WAIT_MILLIS = 100;
+
+  private final InputStream in;
+  private final Path tailedFile;
+  private final Predicate<String> lineHandler;
+
+  /**
+   * @param tailedFile the file that is read by the input stream, or
+   *          <code>null</code> if the stream ends with the output
+   * @param lineHandler returns <code>true</code> once no more lines are needed
+   */
+  EngineOutputReader(InputStream in, Path tailedFile, Predicate<String> lineHandler) {
+    super("engine-output-reader");
+    setDaemon(true);
+    this.in = in;
+    this.tailedFile = tailedFile;
+    this.lineHandler = lineHandler;
+  }
+
+  static EngineOutputReader tail(Path file, Predicate<String> lineHandler) throws IOException {
+    return new EngineOutputReader(Files.newInputStream(file), file, lineHandler);
+  }
+
+  @Override
+  public void run() {
+    try (var reader = new BufferedReader(new InputStreamReader(in));
+        var watcher = tailedFile == null ? null : watch(tailedFile)) {
+      while (!isInterrupted()) {
+        var line = reader.readLine();
+        if (line == null) {
+          if (watcher == null) {
+            return; // end of output
+          }
+          awaitChange(watcher);
+        } else if (lineHandler.test(line)) {
+          return;
+        }
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  private static WatchService watch(Path file) throws IOException {
+    var watcher = file.getFileSystem().newWatchService();
+    file.toAbsolutePath().getParent().register(watcher, StandardWatchEventKinds.ENTRY_MODIFY);
+    return watcher;
+  }
+
+  private void awaitChange(WatchService watcher) {
+    try {
+      var key = watcher.poll(MAX_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+      if (key != null) {
+        key.pollEvents();
+        key.reset();
+      }
+    } catch (InterruptedException | ClosedWatchServiceException _) {
+      interrupt();
+    }
+  }
+}
@@ -0,0 +1,67 @@
+package ch.ivyteam.ivy.maven.engine;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import ch.ivyteam.ivy.maven.engine.EngineClassLoaderFactory.OsgiDir;
+
+/**
+ * Keeps track of running engine processes, so that their state can be
+ * observed through the {@link ProcessHandle} instead of asking a freshly
+ * launched engine JVM for the status.
+ *
+ * <p>
+ * Engines started by this build are registered. Engines started by another
+ * JVM are found by their command line, if the operating system exposes it.
+ * </p>
+ *
+ * @since 14.0.0
+ */
+class EngineProcesses {
+
+  private static final Map<Path, ProcessHandle> STARTED = new ConcurrentHashMap<>();
+
+  private EngineProcesses() {}
+
+  static void register(Path engineDir, ProcessHandle process) {
+    STARTED.put(key(engineDir), process);
+  }
+
+  static void unregister(Path engineDir) {
+    STARTED.remove(key(engineDir));
+  }
+
+  /**
+   * @return the running engine process of the given engine directory
+   */
+  static Optional<ProcessHandle> find(Path engineDir) {
+    var started = STARTED.get(key(engineDir));
+    if (started != null && started.isAlive()) {
+      return Optional.of(started);
+    }
+    var installArea = installAreaArg(engineDir);
+    return ProcessHandle.allProcesses()
+        .filter(process -> process.info().arguments()
+            .map(List::of)
+            .filter(args -> isEngineStart(args, installArea))
+            .isPresent())
+        .findFirst();
+  }
+
+  static boolean isEngineStart(List<String> args, String installAreaArg) {
+    return !args.isEmpty()
+        && "start".equals(args.getLast())
+        && args.contains(installAreaArg);
+  }
+
+  static String installAreaArg(Path engineDir) {
+    return "-Dosgi.install.area=" + engineDir.resolve(OsgiDir.INSTALL_AREA).toAbsolutePath();
+  }
+
+  private static Path key(Path engineDir) {
+    return engineDir.toAbsolutePath().normalize();
+  }
+}
@@ -0,0 +1,76 @@
+package ch.ivyteam.ivy.maven.engine;
+
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.maven.plugin.logging.Log;
+
+import ch.ivyteam.ivy.maven.engine.EngineClassLoaderFactory.OsgiDir;
+import ch.ivyteam.ivy.maven.util.ParallelFileCopier;
+
+/**
+ * Provisions a copy of an engine, e.g. a cached engine into the target
+ * directory of a project under test.
+ *
+ * <p>
+ * Files in the {@link #IMMUTABLE_DIRS immutable parts} of an engine can be
+ * hard linked instead of copied. The engine never writes to these files, so
+ * the copy shares them with its source. Mutable parts (configuration, deploy,
+ * data, ...) are always copied. If the file system does not support hard links
+ * (e.g. when source and target are on different volumes), the remaining files
+ * are copied. Files are copied in parallel.
+ * </p>
+ *
+ * @since 14.0.0
+ */
+public class EngineProvisioner {
+
+  public static final List<String> IMMUTABLE_DIRS = List.of(OsgiDir.PLUGINS, "lib");
+
+  private final Log log;
+  private final int threads;
+  private final AtomicBoolean link;
+
+  public EngineProvisioner(Log log, boolean link, int threads) {
+    this.log = log;
+    this.threads = threads;
+    this.link = new AtomicBoolean(link);
+  }
+
+  public void provision(Path src, Path dest) throws IOException {
+    new ParallelFileCopier(threads).copy(src, dest, this::provisionFile);
+  }
+
+  private void provisionFile(Path source, Path dest, Path relative) throws IOException {
+    if (!isImmutable(relative) || !link(source, dest)) {
+      ParallelFileCopier.copyFile(source, dest);
+    }
+  }
+
+  private boolean link(Path source, Path dest) throws IOException {
+    if (!link.get()) {
+      return false;
+    }
+    try {
+      Files.createLink(dest, source);
+      return true;
+    } catch (FileAlreadyExistsException ex) {
+      throw ex;
+    } catch (UnsupportedOperationException | FileSystemException ex) {
+      if (link.getAndSet(false)) {
+        log.info("Can not hard link engine files (" + ex.getMessage() + "). Copying them instead.");
+      }
+      return false;
+    }
+  }
+
+  static boolean isImmutable(Path relative) {
+    var path = relative.toString().replace('\\', '/');
+    return IMMUTABLE_DIRS.stream().anyMatch(dir -> path.startsWith(dir + "/"));
+  }
+}
@@ -0,0 +1,82 @@
+package ch.ivyteam.ivy.maven.engine;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BooleanSupplier;
+
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Polls the HTTP endpoint of a starting engine with exponential backoff until
+ * it is ready to serve requests.
+ *
+ * <p>
+ * The engine is ready as soon as it answers with a status below 500.
+ * Responses with a server error status (e.g. 503 while the engine is still
+ * booting) count as first byte, but not as ready.
+ * </p>
+ *
+ * @since 14.0.0
+ */
+class EngineReadinessProbe {
+
+  static final Duration INITIAL_BACKOFF = Duration.ofMillis(50);
+  static final Duration MAX_BACKOFF = Duration.ofSeconds(2);
+  private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+  private final HttpClient client;
+  private final URI uri;
+  private final Log log;
+
+  record Result(Duration timeToFirstByte, Duration timeToReady, HttpResponse<Void> response) {}
+
+  EngineReadinessProbe(HttpClient client, URI uri, Log log) {
+    this.client = client;
+    this.uri = uri;
+    this.log = log;
+  }
+
+  /**
+   * @param startNanos {@link System#nanoTime()} when the engine was launched
+   * @param cancelled stops probing once it returns <code>true</code>
+   */
+  Result await(long startNanos, Duration timeout, BooleanSupplier cancelled)
+      throws TimeoutException, InterruptedException {
+    var request = HttpRequest.newBuilder(uri).GET().timeout(REQUEST_TIMEOUT).build();
+    long deadline = startNanos + timeout.toNanos();
+    Duration timeToFirstByte = null;
+    var backoff = INITIAL_BACKOFF;
+    while (!cancelled.getAsBoolean()) {
+      try {
+        var response = client.send(request, BodyHandlers.discarding());
+        var elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+        if (timeToFirstByte == null) {
+          timeToFirstByte = elapsed;
+        }
+        if (response.statusCode() < 500) {
+          return new Result(timeToFirstByte, elapsed, response);
+        }
+        log.debug("Engine at " + uri + " is not ready yet: HTTP " + response.statusCode());
+      } catch (IOException ex) {
+        log.debug("Engine at " + uri + " is not reachable yet: " + ex);
+      }
+      if (System.nanoTime() + backoff.toNanos() > deadline) {
+        throw new TimeoutException("Engine at " + uri + " not ready within " + timeout.toSeconds() + " [s]");
+      }
+      Thread.sleep(backoff);
+      backoff = nextBackoff(backoff);
+    }
+    throw new InterruptedException("Probing " + uri + " was cancelled");
+  }
+
+  static Duration nextBackoff(Duration backoff) {
+    var next = backoff.multipliedBy(2);
+    return next.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : next;
+  }
+}
@@ -0,0 +1,61 @@
+package ch.ivyteam.ivy.maven.engine;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.MojoExecutionException;
+
+/**
+ * Remembers how the engine was resolved (version range, matching engine in
+ * the cache directory, installed engine version) for the whole
+ * {@link MavenSession}, so that the mojos of all reactor modules share it
+ * instead of re-evaluating the file system.
+ *
+ * <p>
+ * Must be {@link #invalidate() invalidated} whenever an engine is installed.
+ * </p>
+ *
+ * @since 14.0.0
+ */
+public class EngineResolution {
+
+  private static final String SESSION_KEY = EngineResolution.class.getName();
+
+  private final Map<String, Optional<Object>> resolved = new ConcurrentHashMap<>();
+
+  /**
+   * @return the resolution shared by all mojos of the session. Without a
+   *         session a new resolution is returned, which is only used by the
+   *         calling mojo.
+   */
+  public static EngineResolution of(MavenSession session) {
+    if (session == null || session.getRepositorySession() == null) {
+      return new EngineResolution();
+    }
+    var data = session.getRepositorySession().getData();
+    if (data.computeIfAbsent(SESSION_KEY, EngineResolution::new) instanceof EngineResolution resolution) {
+      return resolution;
+    }
+    return new EngineResolution(); // stored by another version of this plugin
+  }
+
+  @SuppressWarnings("unchecked")
+  public <T> T get(String key, Resolver<T> resolver) throws MojoExecutionException {
+    var value = resolved.get(key);
+    if (value == null) {
+      value = Optional.ofNullable(resolver.resolve());
+      resolved.put(key, value);
+    }
+    return (T) value.orElse(null);
+  }
+
+  public void invalidate() {
+    resolved.clear();
+  }
+
+  public interface Resolver<T> {
+    T resolve() throws MojoExecutionException;
+  }
+}
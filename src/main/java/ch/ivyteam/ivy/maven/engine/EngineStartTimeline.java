@@ -0,0 +1,106 @@
+package ch.ivyteam.ivy.maven.engine;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+
+/**
+ * The phases of an engine start, measured from launching the engine process.
+ * Phases are derived from the engine output. Each phase is recorded the first
+ * time it is reached, phases that are never reached are missing.
+ *
+ * @since 14.0.0
+ */
+public class EngineStartTimeline {
+
+  public interface Phase {
+    String PROCESS_SPAWNED = "processSpawned";
+    String FIRST_LOG_LINE = "firstLogLine";
+    /** the engine application is launched by the OSGi framework */
+    String FRAMEWORK_STARTED = "frameworkStarted";
+    /** the web application is deployed and the info page is announced */
+    String WEBAPP_DEPLOYED = "webappDeployed";
+    String HTTP_READY = "httpReady";
+  }
+
+  /** lower case output snippets that mark a phase */
+  private static final Map<String, String> MARKERS = Map.of(
+      "starting axon ivy engine", Phase.FRAMEWORK_STARTED,
+      "info page of axon ivy engine", Phase.WEBAPP_DEPLOYED);
+
+  private static final JsonFactory JSON = new JsonFactory();
+
+  private final Instant start = Instant.now();
+  private final long startNanos;
+  private final Map<String, Duration> phases = new LinkedHashMap<>();
+
+  /**
+   * @param startNanos {@link System#nanoTime()} when the engine was launched
+   */
+  public EngineStartTimeline(long startNanos) {
+    this.startNanos = startNanos;
+  }
+
+  public void mark(String phase) {
+    var offset = Duration.ofNanos(System.nanoTime() - startNanos);
+    synchronized (phases) {
+      phases.putIfAbsent(phase, offset);
+    }
+  }
+
+  void onOutputLine(String line) {
+    mark(Phase.FIRST_LOG_LINE);
+    var lowerCaseLine = line.toLowerCase(Locale.ROOT);
+    MARKERS.forEach((marker, phase) -> {
+      if (lowerCaseLine.contains(marker)) {
+        mark(phase);
+      }
+    });
+  }
+
+  /**
+   * @return the reached phases ordered by their offset from the process launch
+   */
+  public Map<String, Duration> phases() {
+    var entries = new ArrayList<Entry<String, Duration>>();
+    synchronized (phases) {
+      entries.addAll(phases.entrySet());
+    }
+    entries.sort(Entry.comparingByValue());
+    var ordered = new LinkedHashMap<String, Duration>();
+    entries.forEach(entry -> ordered.put(entry.getKey(), entry.getValue()));
+    return ordered;
+  }
+
+  public void writeJson(Path file) throws IOException {
+    Files.createDirectories(file.toAbsolutePath().getParent());
+    try (var generator = JSON.createGenerator(Files.newOutputStream(file), JsonEncoding.UTF8)) {
+      generator.useDefaultPrettyPrinter();
+      generator.writeStartObject();
+      generator.writeStringField("start", start.toString());
+      generator.writeArrayFieldStart("phases");
+      long previous = 0;
+      for (var phase : phases().entrySet()) {
+        long millis = phase.getValue().toMillis();
+        generator.writeStartObject();
+        generator.writeStringField("name", phase.getKey());
+        generator.writeNumberField("millis", millis);
+        generator.writeNumberField("deltaMillis", millis - previous);
+        generator.writeEndObject();
+        previous = millis;
+      }
+      generator.writeEndArray();
+      generator.writeEndObject();
+    }
+  }
+}
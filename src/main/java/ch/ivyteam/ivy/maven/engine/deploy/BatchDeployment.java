@@ -0,0 +1,165 @@
+package ch.ivyteam.ivy.maven.engine.deploy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Strings;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Deploys many projects (iar) and applications (zip) with a single engine
+ * deployment. The artifacts are staged together in one application zip, and
+ * the result of each artifact is evaluated from the deployment log. An
+ * artifact is only reported as deployed or failed if the log says so, else
+ * its status is {@link Status#UNKNOWN}.
+ *
+ * @since 14.0.0
+ */
+public class BatchDeployment {
+
+  public enum Status {
+    DEPLOYED, FAILED, UNKNOWN
+  }
+
+  public record ArtifactResult(Path artifact, Status status, List<String> messages) {}
+
+  private final List<Path> artifacts;
+
+  public BatchDeployment(List<Path> artifacts) {
+    this.artifacts = List.copyOf(artifacts);
+  }
+
+  /**
+   * Stages all artifacts in one application zip: projects are added as they
+   * are, the content of application zips is merged.
+   */
+  public Path stage(Path batchZip) throws IOException {
+    Files.createDirectories(batchZip.toAbsolutePath().getParent());
+    var entries = new HashSet<String>();
+    try (var out = new ZipOutputStream(Files.newOutputStream(batchZip))) {
+      for (var artifact : artifacts) {
+        if (isAppZip(artifact)) {
+          mergeAppZip(artifact, out, entries);
+        } else {
+          addEntry(out, entries, artifact.getFileName().toString(), artifact);
+          Files.copy(artifact, out);
+        }
+      }
+    }
+    return batchZip;
+  }
+
+  private static void mergeAppZip(Path appZip, ZipOutputStream out, Set<String> entries) throws IOException {
+    try (var in = new ZipInputStream(Files.newInputStream(appZip))) {
+      ZipEntry entry;
+      while ((entry = in.getNextEntry()) != null) {
+        addEntry(out, entries, entry.getName(), appZip);
+        in.transferTo(out);
+      }
+    }
+  }
+
+  private static void addEntry(ZipOutputStream out, Set<String> entries, String name, Path source)
+      throws IOException {
+    if (!entries.add(name)) {
+      throw new IOException("Can not stage '" + name + "' of " + source + " twice in the batch deployment");
+    }
+    out.putNextEntry(new ZipEntry(name));
+  }
+
+  private static boolean isAppZip(Path artifact) {
+    return artifact.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".zip");
+  }
+
+  /**
+   * @param logLines lines of the deployment log
+   * @param succeeded <code>true</code> if the deployment as a whole succeeded
+   */
+  public List<ArtifactResult> results(List<String> logLines, boolean succeeded) {
+    var names = artifacts.stream()
+        .map(artifact -> namePattern(artifactName(artifact)))
+        .toList();
+    var results = new ArrayList<ArtifactResult>();
+    for (int i = 0; i < artifacts.size(); i++) {
+      var name = names.get(i);
+      var messages = logLines.stream()
+          .filter(line -> name.matcher(line).find())
+          .toList();
+      results.add(new ArtifactResult(artifacts.get(i), status(messages, names, succeeded), messages));
+    }
+    return results;
+  }
+
+  /**
+   * Matches the name as a whole, e.g. <code>app</code> but not
+   * <code>app-core</code>, while a version may follow like in
+   * <code>app-1.0.0</code>.
+   */
+  private static Pattern namePattern(String name) {
+    return Pattern.compile("(?<![\\w-])" + Pattern.quote(name) + "(?!\\w|-[^\\d\\W])",
+        Pattern.CASE_INSENSITIVE);
+  }
+
+  private static Status status(List<String> messages, List<Pattern> names, boolean succeeded) {
+    var errors = messages.stream().filter(BatchDeployment::isError).toList();
+    if (errors.stream().anyMatch(line -> mentioned(line, names) == 1)) {
+      return Status.FAILED;
+    }
+    if (succeeded && errors.isEmpty() && !messages.isEmpty()) {
+      return Status.DEPLOYED;
+    }
+    return Status.UNKNOWN; // an error of several artifacts can not be attributed
+  }
+
+  private static boolean isError(String line) {
+    return Strings.CI.startsWith(line, "error");
+  }
+
+  private static long mentioned(String line, List<Pattern> names) {
+    return names.stream()
+        .filter(name -> name.matcher(line).find())
+        .count();
+  }
+
+  /**
+   * @return the name of the artifact without version and extension, e.g.
+   *         <code>myProject</code> for <code>myProject-1.0.0-SNAPSHOT.iar</code>
+   */
+  static String artifactName(Path artifact) {
+    var name = StringUtils.substringBeforeLast(artifact.getFileName().toString(), ".");
+    var version = name.indexOf('-');
+    while (version > 0) {
+      if (version + 1 < name.length() && Character.isDigit(name.charAt(version + 1))) {
+        return name.substring(0, version);
+      }
+      version = name.indexOf('-', version + 1);
+    }
+    return name;
+  }
+
+  public void report(List<ArtifactResult> results, Log log) {
+    log.info("Batch deployment results:");
+    for (var result : results) {
+      var line = "  [" + result.status() + "] " + result.artifact().getFileName();
+      if (result.status() == Status.FAILED) {
+        log.error(line);
+        result.messages().forEach(message -> log.error("      " + message));
+      } else if (result.status() == Status.UNKNOWN) {
+        log.warn(line);
+      } else {
+        log.info(line);
+      }
+    }
+  }
+}
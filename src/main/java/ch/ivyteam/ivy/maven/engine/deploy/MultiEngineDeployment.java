@@ -0,0 +1,282 @@
+package ch.ivyteam.ivy.maven.engine.deploy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Deploys the same artifact to many engines concurrently.
+ *
+ * <p>
+ * At most <code>parallelism</code> engines are deployed at the same time. Each
+ * engine gets its own timeout, that starts as soon as its deployment starts.
+ * The deployment to one engine does not stop the deployment to the others,
+ * the results of all engines are reported at the end. A deployment that timed
+ * out is interrupted and {@link Abort aborted}.
+ * </p>
+ *
+ * @since 14.0.0
+ */
+public class MultiEngineDeployment {
+
+  public enum Status {
+    DEPLOYED, FAILED, TIMED_OUT
+  }
+
+  public record NodeResult(String node, Status status, Duration duration, Throwable error) {}
+
+  public interface NodeDeployer {
+    /**
+     * @param abort to register how the deployment is aborted, if it does not
+     *          finish in time. The deploying thread is interrupted in any case.
+     */
+    void deploy(String node, Log log, Abort abort) throws Exception;
+  }
+
+  /**
+   * Aborts the deployment to one engine, when it timed out.
+   */
+  public static final class Abort {
+
+    private final List<Runnable> actions = new CopyOnWriteArrayList<>();
+    private volatile boolean aborted;
+
+    /**
+     * @param action aborts the running deployment, e.g. its HTTP request
+     */
+    public void onAbort(Runnable action) {
+      actions.add(action);
+      if (aborted) {
+        action.run();
+      }
+    }
+
+    void abort() {
+      aborted = true;
+      actions.forEach(Runnable::run);
+    }
+  }
+
+  private final int parallelism;
+  private final Duration nodeTimeout;
+
+  /**
+   * @param nodeTimeout maximum time of the deployment to one engine, or
+   *          <code>null</code> to wait without limit
+   */
+  public MultiEngineDeployment(int parallelism, Duration nodeTimeout) {
+    this.parallelism = Math.max(parallelism, 1);
+    this.nodeTimeout = nodeTimeout;
+  }
+
+  public List<NodeResult> deploy(List<String> nodes, NodeDeployer deployer, Log log) throws InterruptedException {
+    var executor = Executors.newFixedThreadPool(Math.min(parallelism, Math.max(nodes.size(), 1)), runnable -> {
+      var thread = new Thread(runnable, "engine-deployment");
+      thread.setDaemon(true); // a deployment that ignores its abort must not block the build
+      return thread;
+    });
+    try {
+      var deployments = new ArrayList<NodeDeployment>();
+      for (var node : nodes) {
+        var deployment = new NodeDeployment(node);
+        deployment.future = executor.submit(() -> deployment.run(deployer, new NodeLog(node, log)));
+        deployments.add(deployment);
+      }
+      var results = new ArrayList<NodeResult>();
+      for (var deployment : deployments) {
+        results.add(await(deployment));
+      }
+      return results;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private NodeResult await(NodeDeployment deployment) throws InterruptedException {
+    while (true) {
+      try {
+        if (nodeTimeout == null) {
+          deployment.future.get();
+        } else {
+          deployment.future.get(deployment.remainingNanos(nodeTimeout), TimeUnit.NANOSECONDS);
+        }
+        return new NodeResult(deployment.node, Status.DEPLOYED, deployment.duration(), null);
+      } catch (ExecutionException ex) {
+        return new NodeResult(deployment.node, Status.FAILED, deployment.duration(), ex.getCause());
+      } catch (TimeoutException ex) {
+        if (deployment.isOverdue(nodeTimeout)) { // otherwise it is still queued
+          deployment.future.cancel(true);
+          deployment.abort.abort();
+          return new NodeResult(deployment.node, Status.TIMED_OUT, deployment.duration(), ex);
+        }
+      }
+    }
+  }
+
+  /**
+   * The deployment to one engine. Its timeout starts as soon as it runs, not
+   * while it waits for a free thread.
+   */
+  private static final class NodeDeployment {
+
+    private final String node;
+    private final Abort abort = new Abort();
+    private volatile long start;
+    private volatile long end;
+    private Future<?> future;
+
+    private NodeDeployment(String node) {
+      this.node = node;
+    }
+
+    private Void run(NodeDeployer deployer, Log log) throws Exception {
+      start = System.nanoTime();
+      try {
+        deployer.deploy(node, log, abort);
+        return null;
+      } finally {
+        end = System.nanoTime();
+      }
+    }
+
+    private long remainingNanos(Duration timeout) {
+      if (start == 0) {
+        return timeout.toNanos();
+      }
+      return Math.max(start + timeout.toNanos() - System.nanoTime(), 0);
+    }
+
+    private boolean isOverdue(Duration timeout) {
+      return start != 0 && System.nanoTime() - start >= timeout.toNanos();
+    }
+
+    private Duration duration() {
+      if (start == 0) {
+        return Duration.ZERO;
+      }
+      return Duration.ofNanos((end == 0 ? System.nanoTime() : end) - start);
+    }
+  }
+
+  /**
+   * Logs the result of each engine.
+   * @throws MojoExecutionException if the deployment to any engine failed
+   */
+  public static void report(List<NodeResult> results, Log log) throws MojoExecutionException {
+    log.info("Deployment results:");
+    var failed = new ArrayList<String>();
+    for (var result : results) {
+      var line = "  [" + result.status() + "] " + result.node() + " (" + result.duration().toMillis() + " [ms])";
+      if (result.status() == Status.DEPLOYED) {
+        log.info(line);
+      } else {
+        log.error(line + (result.error() == null ? "" : ": " + result.error().getMessage()));
+        failed.add(result.node());
+      }
+    }
+    if (!failed.isEmpty()) {
+      throw new MojoExecutionException("Deployment failed on " + failed.size() + " of " + results.size()
+          + " engines: " + String.join(", ", failed));
+    }
+  }
+
+  /**
+   * Prefixes all messages with the engine they belong to, as the output of
+   * concurrent deployments is interleaved.
+   */
+  private record NodeLog(String node, Log log) implements Log {
+
+    private String prefix(CharSequence content) {
+      return "[" + node + "] " + content;
+    }
+
+    @Override
+    public boolean isDebugEnabled() {
+      return log.isDebugEnabled();
+    }
+
+    @Override
+    public void debug(CharSequence content) {
+      log.debug(prefix(content));
+    }
+
+    @Override
+    public void debug(CharSequence content, Throwable error) {
+      log.debug(prefix(content), error);
+    }
+
+    @Override
+    public void debug(Throwable error) {
+      log.debug(prefix(String.valueOf(error)), error);
+    }
+
+    @Override
+    public boolean isInfoEnabled() {
+      return log.isInfoEnabled();
+    }
+
+    @Override
+    public void info(CharSequence content) {
+      log.info(prefix(content));
+    }
+
+    @Override
+    public void info(CharSequence content, Throwable error) {
+      log.info(prefix(content), error);
+    }
+
+    @Override
+    public void info(Throwable error) {
+      log.info(prefix(String.valueOf(error)), error);
+    }
+
+    @Override
+    public boolean isWarnEnabled() {
+      return log.isWarnEnabled();
+    }
+
+    @Override
+    public void warn(CharSequence content) {
+      log.warn(prefix(content));
+    }
+
+    @Override
+    public void warn(CharSequence content, Throwable error) {
+      log.warn(prefix(content), error);
+    }
+
+    @Override
+    public void warn(Throwable error) {
+      log.warn(prefix(String.valueOf(error)), error);
+    }
+
+    @Override
+    public boolean isErrorEnabled() {
+      return log.isErrorEnabled();
+    }
+
+    @Override
+    public void error(CharSequence content) {
+      log.error(prefix(content));
+    }
+
+    @Override
+    public void error(CharSequence content, Throwable error) {
+      log.error(prefix(content), error);
+    }
+
+    @Override
+    public void error(Throwable error) {
+      log.error(prefix(String.valueOf(error)), error);
+    }
+  }
+}
@@ -0,0 +1,83 @@
+package ch.ivyteam.ivy.maven.engine.deploy.dir;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Waits for changes in a deploy directory of the engine, e.g. the deletion of
+ * the deployed file or new lines in its deployment log.
+ *
+ * <p>
+ * Changes are detected with a {@link WatchService}. If the file system does
+ * not support it, the directory is polled. As some watch services only poll
+ * themselves, the wait is bounded in both cases.
+ * </p>
+ *
+ * @since 14.0.0
+ */
+class DeployDirectoryWatcher implements AutoCloseable {
+
+  static final long MAX_WAIT_MILLIS = 100;
+
+  private final WatchService watcher;
+
+  DeployDirectoryWatcher(Path dir, Log log) {
+    this.watcher = watch(dir, log);
+  }
+
+  private static WatchService watch(Path dir, Log log) {
+    WatchService service = null;
+    try {
+      service = dir.getFileSystem().newWatchService();
+      dir.register(service, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+      return service;
+    } catch (IOException | UnsupportedOperationException ex) {
+      log.debug("Can not watch " + dir + " (" + ex + "), polling it instead");
+      closeQuietly(service);
+      return null;
+    }
+  }
+
+  boolean isWatching() {
+    return watcher != null;
+  }
+
+  /**
+   * Blocks until the directory changes, but at most
+   * {@link #MAX_WAIT_MILLIS}.
+   */
+  void awaitChange() throws InterruptedException {
+    if (watcher == null) {
+      Thread.sleep(MAX_WAIT_MILLIS);
+      return;
+    }
+    var key = watcher.poll(MAX_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+    if (key != null) {
+      key.pollEvents();
+      key.reset();
+    }
+  }
+
+  @Override
+  public void close() {
+    closeQuietly(watcher);
+  }
+
+  private static void closeQuietly(WatchService service) {
+    if (service != null) {
+      try {
+        service.close();
+      } catch (IOException _) {
+        // nothing left to release
+      }
+    }
+  }
+}
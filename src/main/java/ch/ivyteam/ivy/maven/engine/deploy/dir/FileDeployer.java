@@ -20,7 +20,6 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
-import java.util.function.Supplier;
 
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.logging.Log;
@@ -87,22 +86,42 @@ public class FileDeployer implements IvyDeployer {
     }
   }
 
+  /**
+   * The engine deletes the deploy candidate as soon as the deployment is
+   * finished. Until then, the deployment log is forwarded whenever the deploy
+   * directory changes.
+   */
   private void determineDeployResult() throws MojoExecutionException {
+    var candidate = deploymentFiles.getDeployCandidate();
     var logForwarder = new FileLogForwarder(deploymentFiles.log(), log, new EngineLogLineHandler(log));
-    try {
-      logForwarder.activate();
-      log.debug("Deployment candidate " + deploymentFiles.getDeployCandidate());
-      wait(() -> !Files.exists(deploymentFiles.getDeployCandidate()), timeoutInSeconds, TimeUnit.SECONDS);
+    log.debug("Deployment candidate " + candidate);
+    try (var watcher = new DeployDirectoryWatcher(candidate.getParent(), log)) {
+      awaitDeletion(candidate, watcher, logForwarder::forwardNewLines);
     } catch (TimeoutException ex) {
       throw new MojoExecutionException("Deployment result does not exist", ex);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new MojoExecutionException("Interrupted while waiting for the deployment result", ex);
     } finally {
-      logForwarder.deactivate();
+      logForwarder.forwardRemainingLines();
     }
 
     failOnError();
     log.info("Deployment finished");
   }
 
+  private void awaitDeletion(Path candidate, DeployDirectoryWatcher watcher, Runnable onChange)
+      throws TimeoutException, InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutInSeconds);
+    while (Files.exists(candidate)) {
+      onChange.run();
+      if (System.nanoTime() > deadline) {
+        throw new TimeoutException("Operation reached timeout of " + timeoutInSeconds + " " + TimeUnit.SECONDS);
+      }
+      watcher.awaitChange();
+    }
+  }
+
   private void failOnError() throws MojoExecutionException {
     var errorLog = deploymentFiles.errorLog();
     if (Files.exists(errorLog)) {
@@ -115,20 +134,4 @@ public class FileDeployer implements IvyDeployer {
       throw new MojoExecutionException("Deployment of '" + deploymentFiles.getDeployCandidate().getFileName() + "' failed!");
     }
   }
-
-  private static void wait(Supplier<Boolean> condition, long duration, TimeUnit unit)
-      throws TimeoutException {
-    long waitMs = unit.toMillis(duration);
-    long startMs = System.currentTimeMillis();
-    long maxMs = waitMs + startMs;
-    while (!condition.get()) {
-      try {
-        if (System.currentTimeMillis() > maxMs) {
-          throw new TimeoutException("Operation reached timeout of " + duration + " " + unit);
-        }
-        Thread.sleep(100);
-      } catch (InterruptedException _) {}
-    }
-  }
-
 }
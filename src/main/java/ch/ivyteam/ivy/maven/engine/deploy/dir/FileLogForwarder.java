@@ -16,90 +16,68 @@
 
 package ch.ivyteam.ivy.maven.engine.deploy.dir;
 
-import java.io.File;
 import java.io.IOException;
-import java.io.RandomAccessFile;
 import java.nio.file.Path;
 
-import org.apache.commons.io.filefilter.FileFilterUtils;
-import org.apache.commons.io.filefilter.IOFileFilter;
-import org.apache.commons.io.monitor.FileAlterationListenerAdaptor;
-import org.apache.commons.io.monitor.FileAlterationMonitor;
-import org.apache.commons.io.monitor.FileAlterationObserver;
-import org.apache.commons.io.monitor.FileEntry;
-import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.logging.Log;
 
 /**
  * Detects new log lines in file and forwards them to an {@link LogLineHandler}.
+ *
+ * <p>
+ * The owner of a {@link DeployDirectoryWatcher} calls
+ * {@link #forwardNewLines()} on changes and {@link #forwardRemainingLines()}
+ * once the deployment is finished.
+ * </p>
  * @since 6.1.0
  */
 class FileLogForwarder {
 
-  private final Path engineLog;
   private final Log mavenLog;
-
-  private FileAlterationMonitor monitor;
   private final LogLineHandler logLineHandler;
+  private final LogTailer tailer;
+  private boolean finished;
 
   /**
    * @param engineLog the log file to watch for new lines
    * @param mavenLog the target logger
    */
   FileLogForwarder(Path engineLog, Log mavenLog, LogLineHandler handler) {
-    this.engineLog = engineLog;
     this.mavenLog = mavenLog;
     this.logLineHandler = handler;
+    this.tailer = new LogTailer(engineLog);
   }
 
-  public synchronized void activate() throws MojoExecutionException {
-    IOFileFilter logFilter = FileFilterUtils.and(
-            FileFilterUtils.fileFileFilter(),
-            FileFilterUtils.nameFileFilter(engineLog.getFileName().toString()));
-    try {
-      FileAlterationObserver fileObserver = FileAlterationObserver.builder()
-        .setRootEntry(new FileEntry(engineLog.getParent().toFile()))
-        .setFileFilter(logFilter)
-        .get();
-      fileObserver.addListener(new LogModificationListener());
-      monitor = new FileAlterationMonitor(100);
-      monitor.addObserver(fileObserver);
-      monitor.start();
-    } catch (Exception ex) {
-      throw new MojoExecutionException("Failed to activate deploy log forwarder", ex);
-    }
-  }
-
-  public synchronized void deactivate() throws MojoExecutionException {
-    try {
-      if (monitor != null) {
-        monitor.stop(0);
+  /**
+   * Forwards the lines that were completed since the last call.
+   */
+  void forwardNewLines() {
+    synchronized (tailer) {
+      if (finished) {
+        return;
       }
-    } catch (Exception ex) {
-      throw new MojoExecutionException("Failed to deactivate deploy log forwarder", ex);
-    } finally {
-      monitor = null;
-    }
-  }
-
-  private class LogModificationListener extends FileAlterationListenerAdaptor {
-    private long lastReadPosition = 0;
-
-    @Override
-    public void onFileChange(File log) {
-      try (RandomAccessFile readableLog = new RandomAccessFile(log, "r")) {
-        readableLog.seek(lastReadPosition);
-        readNewLines(readableLog);
-        lastReadPosition = readableLog.getFilePointer();
-      } catch (Exception ex) {
+      try {
+        tailer.readLines(logLineHandler::handleLine);
+      } catch (IOException ex) {
         mavenLog.warn("Failed to get engine deploy log content", ex);
       }
     }
+  }
 
-    private void readNewLines(RandomAccessFile readableLog) throws IOException {
-      String line = null;
-      while ((line = readableLog.readLine()) != null) {
-        logLineHandler.handleLine(line);
+  /**
+   * Forwards all remaining lines, including a partial last line, and releases
+   * the log file. Later lines are no longer forwarded.
+   */
+  void forwardRemainingLines() {
+    synchronized (tailer) {
+      if (finished) {
+        return;
+      }
+      finished = true;
+      try (tailer) {
+        tailer.flush(logLineHandler::handleLine);
+      } catch (IOException ex) {
+        mavenLog.warn("Failed to get engine deploy log content", ex);
       }
     }
   }
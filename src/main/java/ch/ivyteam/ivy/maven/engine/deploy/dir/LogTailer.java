@@ -0,0 +1,126 @@
+package ch.ivyteam.ivy.maven.engine.deploy.dir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * Reads the lines that are appended to a UTF-8 encoded file.
+ *
+ * <p>
+ * The file is kept open between reads. New bytes are read into a reusable
+ * direct buffer and decoded incrementally. A line is only passed on once its
+ * line terminator was written, a partial trailing line is kept until it is
+ * completed or the tailer is {@link #flush(Consumer) flushed}. Multi-byte
+ * characters that are split between two reads are decoded correctly.
+ * </p>
+ *
+ * @since 14.0.0
+ */
+class LogTailer implements AutoCloseable {
+
+  private static final int BUFFER_SIZE = 8 * 1024;
+
+  private final Path file;
+  private final ByteBuffer bytes = ByteBuffer.allocateDirect(BUFFER_SIZE);
+  private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+  private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+      .onMalformedInput(CodingErrorAction.REPLACE)
+      .onUnmappableCharacter(CodingErrorAction.REPLACE);
+  private final StringBuilder line = new StringBuilder();
+  private boolean afterCarriageReturn = false;
+  private FileChannel channel;
+
+  LogTailer(Path file) {
+    this.file = file;
+  }
+
+  /**
+   * Passes all lines that were completed since the last read to the handler.
+   */
+  void readLines(Consumer<String> handler) throws IOException {
+    if (channel == null) {
+      if (!Files.isRegularFile(file)) {
+        return;
+      }
+      channel = FileChannel.open(file, StandardOpenOption.READ);
+    }
+    if (channel.size() < channel.position()) { // truncated: start over
+      channel.position(0);
+      reset();
+    }
+    while (channel.read(bytes) > 0) {
+      bytes.flip();
+      decode(false, handler);
+      bytes.compact();
+    }
+  }
+
+  /**
+   * Reads the remaining content and passes a partial trailing line to the
+   * handler.
+   */
+  void flush(Consumer<String> handler) throws IOException {
+    readLines(handler);
+    bytes.flip();
+    decode(true, handler);
+    decoder.flush(chars);
+    chars.flip();
+    splitLines(handler);
+    chars.clear();
+    if (!line.isEmpty()) {
+      handler.accept(line.toString());
+    }
+    reset();
+  }
+
+  private void decode(boolean endOfInput, Consumer<String> handler) {
+    CoderResult result;
+    do {
+      result = decoder.decode(bytes, chars, endOfInput);
+      chars.flip();
+      splitLines(handler);
+      chars.clear();
+    } while (result.isOverflow());
+  }
+
+  private void splitLines(Consumer<String> handler) {
+    while (chars.hasRemaining()) {
+      char c = chars.get();
+      if (c == '\n' && afterCarriageReturn) {
+        afterCarriageReturn = false;
+      } else if (c == '\n' || c == '\r') {
+        afterCarriageReturn = c == '\r';
+        handler.accept(line.toString());
+        line.setLength(0);
+      } else {
+        afterCarriageReturn = false;
+        line.append(c);
+      }
+    }
+  }
+
+  private void reset() {
+    bytes.clear();
+    decoder.reset();
+    line.setLength(0);
+    afterCarriageReturn = false;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (channel != null) {
+      channel.close();
+      channel = null;
+    }
+  }
+}
@@ -4,6 +4,7 @@ import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.file.Path;
+import java.time.Duration;
 
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpHost;
@@ -24,6 +25,7 @@ import org.apache.http.impl.client.BasicAuthCache;
 import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.util.EntityUtils;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.logging.Log;
@@ -31,9 +33,25 @@ import org.apache.maven.settings.Server;
 import org.sonatype.plexus.components.sec.dispatcher.SecDispatcher;
 import org.sonatype.plexus.components.sec.dispatcher.SecDispatcherException;
 
+/**
+ * Deploys a file to a remote engine over HTTP.
+ *
+ * <p>
+ * The file is streamed with chunked transfer encoding over a connection pool
+ * that is shared by all deployments of a build. If the connection fails before
+ * the file was sent completely, the upload is repeated with an exponential
+ * backoff. A completely sent file is never sent again, as the engine may
+ * already have deployed it.
+ * </p>
+ */
 public class HttpDeployer {
 
   private static final String DEPLOY_URI = "system/api/apps/";
+  static final Duration INITIAL_BACKOFF = Duration.ofSeconds(1);
+  static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+
+  private static final CloseableHttpClient CLIENT = createClient();
+
   private final String serverUrl;
   private final String targetSecurityContext;
   private final String targetApplication;
@@ -42,6 +60,10 @@ public class HttpDeployer {
   private final String deployTestUsers;
   private final Server server;
   private final SecDispatcher secDispatcher;
+  private int retries = 3;
+  private Duration initialBackoff = INITIAL_BACKOFF;
+  private volatile boolean aborted;
+  private volatile HttpPost request;
 
   public HttpDeployer(SecDispatcher secDispatcher,
       Server server,
@@ -61,25 +83,96 @@ public class HttpDeployer {
     this.deployTestUsers = deployTestUsers;
   }
 
+  private static CloseableHttpClient createClient() {
+    var connections = new PoolingHttpClientConnectionManager();
+    connections.setMaxTotal(32);
+    connections.setDefaultMaxPerRoute(8);
+    return HttpClientBuilder.create()
+        .setConnectionManager(connections)
+        .disableAutomaticRetries() // only incomplete uploads are repeated
+        .build();
+  }
+
+  /**
+   * @param maxRetries how many times an upload is repeated, that failed before
+   *          the file was sent completely
+   */
+  public HttpDeployer retries(int maxRetries) {
+    this.retries = maxRetries;
+    return this;
+  }
+
+  HttpDeployer initialBackoff(Duration backoff) {
+    this.initialBackoff = backoff;
+    return this;
+  }
+
+  /**
+   * Aborts the running upload from another thread. It is not repeated.
+   */
+  public void abort() {
+    aborted = true;
+    var running = request;
+    if (running != null) {
+      running.abort();
+    }
+  }
+
   public void deploy(Log log) throws MojoExecutionException {
-    try (var client = HttpClientBuilder.create().build()) {
-      executeRequest(log, client);
-    } catch (IOException ex) {
-      throw new MojoExecutionException("Failed to build request body", ex);
-    } catch (URISyntaxException ex) {
-      throw new MojoExecutionException("Failed to build http credentials context", ex);
+    var backoff = initialBackoff;
+    for (int attempt = 1;; attempt++) {
+      var upload = new UploadEntity(getRequestData(), log);
+      try {
+        executeRequest(log, CLIENT, upload);
+        return;
+      } catch (IOException ex) {
+        if (aborted) {
+          throw new MojoExecutionException("Deployment of '" + deployFile.getFileName() + "' to " + serverUrl
+              + " was aborted", ex);
+        }
+        if (upload.isComplete() || attempt > retries) {
+          throw new MojoExecutionException("Failed to deploy '" + deployFile.getFileName() + "' to " + serverUrl, ex);
+        }
+        log.warn("Upload of '" + deployFile.getFileName() + "' failed after " + upload.getBytesWritten()
+            + " bytes (" + ex.getMessage() + "). Retrying in " + backoff.toMillis() + " [ms]");
+        sleep(backoff);
+        backoff = nextBackoff(backoff);
+      } catch (URISyntaxException ex) {
+        throw new MojoExecutionException("Failed to build http credentials context", ex);
+      }
+    }
+  }
+
+  private static void sleep(Duration backoff) throws MojoExecutionException {
+    try {
+      Thread.sleep(backoff);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new MojoExecutionException("Deployment interrupted", ex);
     }
   }
 
-  private void executeRequest(Log log, CloseableHttpClient client) throws IOException, URISyntaxException, MojoExecutionException {
+  static Duration nextBackoff(Duration backoff) {
+    var next = backoff.multipliedBy(2);
+    return next.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : next;
+  }
+
+  private void executeRequest(Log log, CloseableHttpClient client, UploadEntity upload) throws IOException, URISyntaxException, MojoExecutionException {
     String url = serverUrl + DEPLOY_URI + targetSecurityContext + "/" + targetApplication + "/deploy/" + targetApplicationVersion;
     HttpPost httpPost = new HttpPost(url);
     httpPost.addHeader("X-Requested-By", "maven-build-plugin");
-    httpPost.setEntity(getRequestData());
+    httpPost.setEntity(upload);
+    request = httpPost;
+    if (aborted) {
+      httpPost.abort(); // aborted before the request was registered
+    }
 
     HttpEntity resultEntity = null;
     log.info("Uploading file " + deployFile + " to " + url);
     try (var response = client.execute(httpPost, getRequestContext(url))) {
+      if (upload.isComplete()) {
+        log.info("Uploaded " + UploadEntity.throughput(upload.getBytesWritten(), upload.getDuration()));
+      }
       resultEntity = response.getEntity();
       var deploymentLog = readDeploymentLog(resultEntity);
       int status = response.getStatusLine().getStatusCode();
@@ -0,0 +1,111 @@
+package ch.ivyteam.ivy.maven.engine.deploy.http;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.Locale;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.HttpEntityWrapper;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Streams a request body with chunked transfer encoding and measures the
+ * upload.
+ *
+ * @since 14.0.0
+ */
+class UploadEntity extends HttpEntityWrapper {
+
+  private static final long PROGRESS_STEP = 16 * 1024 * 1024;
+
+  private final Log log;
+  private volatile long bytesWritten = 0;
+  private volatile boolean complete = false;
+  private long startNanos;
+  private long endNanos;
+
+  UploadEntity(HttpEntity entity, Log log) {
+    super(entity);
+    this.log = log;
+  }
+
+  @Override
+  public boolean isChunked() {
+    return true;
+  }
+
+  @Override
+  public long getContentLength() {
+    return -1;
+  }
+
+  @Override
+  public void writeTo(OutputStream out) throws IOException {
+    startNanos = System.nanoTime();
+    bytesWritten = 0;
+    complete = false;
+    var counting = new CountingOutputStream(out);
+    super.writeTo(counting);
+    counting.flush();
+    endNanos = System.nanoTime();
+    complete = true;
+  }
+
+  /**
+   * @return <code>true</code> if the whole body was sent. Only an incomplete
+   *         upload can safely be repeated, as the engine can not have deployed
+   *         it.
+   */
+  boolean isComplete() {
+    return complete;
+  }
+
+  long getBytesWritten() {
+    return bytesWritten;
+  }
+
+  /**
+   * @return upload duration, or <code>null</code> if the upload is not
+   *         complete
+   */
+  Duration getDuration() {
+    return complete ? Duration.ofNanos(endNanos - startNanos) : null;
+  }
+
+  static String throughput(long bytes, Duration duration) {
+    double seconds = Math.max(duration.toNanos(), 1) / 1_000_000_000d;
+    double megaBytes = bytes / (1024d * 1024d);
+    return String.format(Locale.ROOT, "%.1f MB in %.1f s (%.1f MB/s)", megaBytes, seconds, megaBytes / seconds);
+  }
+
+  private class CountingOutputStream extends FilterOutputStream {
+
+    private long nextProgress = PROGRESS_STEP;
+
+    CountingOutputStream(OutputStream out) {
+      super(out);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      out.write(b);
+      count(1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      out.write(b, off, len);
+      count(len);
+    }
+
+    private void count(int bytes) {
+      bytesWritten += bytes;
+      if (bytesWritten >= nextProgress) {
+        nextProgress += PROGRESS_STEP;
+        log.info("Uploaded " + throughput(bytesWritten, Duration.ofNanos(System.nanoTime() - startNanos)));
+      }
+    }
+  }
+}
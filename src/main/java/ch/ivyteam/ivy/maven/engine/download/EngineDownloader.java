@@ -8,4 +8,12 @@ public interface EngineDownloader {
 
   Path downloadEngine() throws MojoExecutionException;
   String getZipFileNameFromDownloadLocation() throws MojoExecutionException;
+
+  /**
+   * @return <code>true</code> if the downloaded zip can be deleted once the
+   *         engine is unpacked.
+   */
+  default boolean isDownloadTemporary() {
+    return true;
+  }
 }
@@ -0,0 +1,197 @@
+package ch.ivyteam.ivy.maven.engine.download;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+import org.apache.maven.plugin.logging.Log;
+
+import ch.ivyteam.ivy.maven.util.Sha256;
+
+/**
+ * Persistent store of downloaded engine zips, addressed by their SHA-256
+ * checksum.
+ *
+ * <p>
+ * Zips are stored as <code>sha256/&lt;checksum&gt;.zip</code>. An index in
+ * <code>urls/</code> maps each download url to the checksum of the zip it
+ * served. All files are written atomically, so the cache can be shared by
+ * several checkouts and builds. The least recently used zips are evicted once
+ * the cache exceeds its maximum size. Zips that were used within the
+ * {@link #EVICTION_GRACE_PERIOD} are kept, as a concurrent build may just be
+ * unpacking them. Temp files left behind by crashed builds are deleted once
+ * they are older than the grace period.
+ * </p>
+ *
+ * @since 14.0.0
+ */
+public class EngineZipCache {
+
+  static final Duration EVICTION_GRACE_PERIOD = Duration.ofHours(1);
+
+  private final Path directory;
+  private final long maxSizeInBytes;
+  private final Log log;
+
+  public EngineZipCache(Path directory, long maxSizeInBytes, Log log) {
+    this.directory = directory;
+    this.maxSizeInBytes = maxSizeInBytes;
+    this.log = log;
+  }
+
+  public Optional<Path> findBySha256(String sha256) {
+    var zip = blob(sha256);
+    if (!Files.isRegularFile(zip)) {
+      return Optional.empty();
+    }
+    touch(zip);
+    return Optional.of(zip);
+  }
+
+  public Optional<Path> findByUrl(URL url) {
+    var index = indexFile(url);
+    if (!Files.isRegularFile(index)) {
+      return Optional.empty();
+    }
+    try (var in = Files.newInputStream(index)) {
+      var props = new Properties();
+      props.load(in);
+      var sha256 = props.getProperty("sha256");
+      var zip = findBySha256(sha256);
+      if (zip.isPresent() && Files.size(zip.get()) != Long.parseLong(props.getProperty("size"))) {
+        log.warn("Ignoring cached engine " + zip.get() + " as its size does not match the index");
+        return Optional.empty();
+      }
+      return zip;
+    } catch (IOException | RuntimeException ex) {
+      log.debug("Ignoring unreadable engine cache index " + index, ex);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Moves the downloaded zip into the cache.
+   *
+   * @return the location of the zip in the cache
+   */
+  public Path store(URL url, Path downloadedZip, String sha256) throws IOException {
+    var zip = blob(sha256);
+    Files.createDirectories(zip.getParent());
+    if (Files.exists(zip)) {
+      Files.delete(downloadedZip);
+    } else {
+      var tmp = Files.createTempFile(zip.getParent(), sha256, ".tmp");
+      Files.move(downloadedZip, tmp, StandardCopyOption.REPLACE_EXISTING);
+      Files.move(tmp, zip, StandardCopyOption.ATOMIC_MOVE);
+    }
+    touch(zip);
+    writeIndex(url, sha256, Files.size(zip));
+    try {
+      evict(zip);
+    } catch (IOException | UncheckedIOException ex) {
+      log.warn("Failed to evict engines from download cache " + directory, ex);
+    }
+    return zip;
+  }
+
+  private void writeIndex(URL url, String sha256, long size) throws IOException {
+    var index = indexFile(url);
+    Files.createDirectories(index.getParent());
+    var props = new Properties();
+    props.setProperty("url", url.toExternalForm());
+    props.setProperty("sha256", sha256);
+    props.setProperty("size", Long.toString(size));
+    var tmp = Files.createTempFile(index.getParent(), "index", ".tmp");
+    try (var out = Files.newOutputStream(tmp)) {
+      props.store(out, "engine download");
+    }
+    Files.move(tmp, index, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  private void evict(Path keep) throws IOException {
+    var recentlyUsed = FileTime.from(Instant.now().minus(EVICTION_GRACE_PERIOD));
+    deleteStaleTempFiles(keep.getParent(), recentlyUsed);
+    deleteStaleTempFiles(directory.resolve("urls"), recentlyUsed);
+    List<CachedFile> zips;
+    try (Stream<Path> files = Files.list(keep.getParent())) {
+      zips = files
+          .filter(file -> file.getFileName().toString().endsWith(".zip"))
+          .flatMap(file -> CachedFile.read(file).stream())
+          .sorted(Comparator.comparing(CachedFile::lastModified))
+          .toList();
+    }
+    long size = zips.stream().mapToLong(CachedFile::size).sum();
+    for (var zip : zips) {
+      if (size <= maxSizeInBytes) {
+        return;
+      }
+      if (zip.file().equals(keep) || zip.lastModified().compareTo(recentlyUsed) > 0) {
+        continue;
+      }
+      size -= zip.size();
+      log.info("Evicting least recently used engine " + zip.file() + " from download cache");
+      Files.deleteIfExists(zip.file());
+    }
+  }
+
+  private void deleteStaleTempFiles(Path dir, FileTime olderThan) throws IOException {
+    if (!Files.isDirectory(dir)) {
+      return;
+    }
+    List<CachedFile> tmps;
+    try (Stream<Path> files = Files.list(dir)) {
+      tmps = files
+          .filter(file -> file.getFileName().toString().endsWith(".tmp"))
+          .flatMap(file -> CachedFile.read(file).stream())
+          .filter(tmp -> tmp.lastModified().compareTo(olderThan) < 0)
+          .toList();
+    }
+    for (var tmp : tmps) {
+      log.debug("Deleting stale temp file " + tmp.file() + " from download cache");
+      Files.deleteIfExists(tmp.file());
+    }
+  }
+
+  private Path blob(String sha256) {
+    return directory.resolve("sha256").resolve(sha256 + ".zip");
+  }
+
+  private Path indexFile(URL url) {
+    return directory.resolve("urls").resolve(Sha256.of(url.toExternalForm()) + ".properties");
+  }
+
+  private void touch(Path file) {
+    try {
+      Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+    } catch (IOException ex) {
+      log.debug("Could not mark cached engine " + file + " as recently used", ex); // e.g. a read-only cache
+    }
+  }
+
+  private record CachedFile(Path file, long size, FileTime lastModified) {
+
+    static Optional<CachedFile> read(Path file) {
+      try {
+        var attrs = Files.readAttributes(file, BasicFileAttributes.class);
+        return Optional.of(new CachedFile(file, attrs.size(), attrs.lastModifiedTime()));
+      } catch (NoSuchFileException ex) {
+        return Optional.empty(); // evicted by a concurrent build
+      } catch (IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+    }
+  }
+}
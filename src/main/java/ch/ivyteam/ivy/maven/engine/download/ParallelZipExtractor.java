@@ -0,0 +1,122 @@
+package ch.ivyteam.ivy.maven.engine.download;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import net.lingala.zip4j.ZipFile;
+import net.lingala.zip4j.model.FileHeader;
+import net.lingala.zip4j.util.UnzipUtil;
+
+/**
+ * Extracts a zip archive with a pool of workers, each inflating whole entries.
+ *
+ * <p>
+ * The central directory is read once. The directory skeleton is created
+ * before any file is written, so that workers only have to write their files.
+ * File attributes are restored like {@link ZipFile#extractAll(String)} does.
+ * </p>
+ *
+ * @since 14.0.0
+ */
+public class ParallelZipExtractor {
+
+  private final int threads;
+
+  public ParallelZipExtractor(int threads) {
+    this.threads = threads;
+  }
+
+  public void extract(Path zip, Path targetDir) throws IOException {
+    var target = targetDir.toAbsolutePath().normalize();
+    try (var zipFile = new ZipFile(zip.toFile())) {
+      var headers = zipFile.getFileHeaders();
+      createDirectories(target, headers);
+      extractFiles(zipFile, target, headers);
+      applyDirectoryAttributes(target, headers);
+    }
+  }
+
+  private static void createDirectories(Path target, List<FileHeader> headers) throws IOException {
+    var dirs = new TreeSet<Path>();
+    for (var header : headers) {
+      var path = resolve(target, header);
+      dirs.add(header.isDirectory() ? path : path.getParent());
+    }
+    for (var dir : dirs) { // sorted: parents are created first
+      if (!Files.isDirectory(dir)) {
+        Files.createDirectories(dir);
+      }
+    }
+  }
+
+  private void extractFiles(ZipFile zipFile, Path target, List<FileHeader> headers) throws IOException {
+    var files = headers.stream()
+        .filter(header -> !header.isDirectory())
+        .sorted(Comparator.comparingLong(FileHeader::getUncompressedSize).reversed())
+        .toList();
+    try (var executor = Executors.newFixedThreadPool(threads)) {
+      var tasks = new ArrayList<Future<?>>();
+      for (var header : files) {
+        tasks.add(executor.submit(() -> {
+          extractFile(zipFile, header, resolve(target, header));
+          return null;
+        }));
+      }
+      awaitAll(tasks);
+    }
+  }
+
+  private static void extractFile(ZipFile zipFile, FileHeader header, Path file) throws IOException {
+    net.lingala.zip4j.io.inputstream.ZipInputStream in;
+    synchronized (zipFile) { // opening is not thread safe, inflating is
+      in = zipFile.getInputStream(header);
+    }
+    try (in) {
+      Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+    UnzipUtil.applyFileAttributes(header, file.toFile());
+  }
+
+  private static void awaitAll(List<Future<?>> tasks) throws IOException {
+    try {
+      for (var task : tasks) {
+        task.get();
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      tasks.forEach(task -> task.cancel(true));
+      throw new IOException("Extraction interrupted", ex);
+    } catch (ExecutionException ex) {
+      tasks.forEach(task -> task.cancel(true));
+      if (ex.getCause() instanceof IOException ioEx) {
+        throw ioEx;
+      }
+      throw new IOException("Extraction failed", ex.getCause());
+    }
+  }
+
+  private static void applyDirectoryAttributes(Path target, List<FileHeader> headers) throws IOException {
+    for (var header : headers) {
+      if (header.isDirectory()) {
+        UnzipUtil.applyFileAttributes(header, resolve(target, header).toFile());
+      }
+    }
+  }
+
+  private static Path resolve(Path target, FileHeader header) throws IOException {
+    var path = target.resolve(header.getFileName()).normalize();
+    if (!path.startsWith(target)) {
+      throw new IOException("Zip entry '" + header.getFileName() + "' points outside of " + target);
+    }
+    return path;
+  }
+}
@@ -0,0 +1,47 @@
+package ch.ivyteam.ivy.maven.engine.download;
+
+import java.net.URL;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.HttpHost;
+import org.apache.http.auth.AuthScope;
+import org.apache.http.auth.UsernamePasswordCredentials;
+import org.apache.http.impl.client.BasicCredentialsProvider;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.maven.wagon.proxy.ProxyInfoProvider;
+import org.apache.maven.wagon.proxy.ProxyUtils;
+
+/**
+ * Creates http clients that honor the maven proxy configuration, like the
+ * wagon based downloads do.
+ */
+interface ProxyHttpClient {
+
+  static CloseableHttpClient create(URL url, ProxyInfoProvider proxies, int maxConnections) {
+    var connections = new PoolingHttpClientConnectionManager();
+    connections.setMaxTotal(maxConnections);
+    connections.setDefaultMaxPerRoute(maxConnections);
+    var builder = HttpClientBuilder.create()
+        .setConnectionManager(connections)
+        .useSystemProperties();
+    configureProxy(builder, url, proxies);
+    return builder.build();
+  }
+
+  private static void configureProxy(HttpClientBuilder builder, URL url, ProxyInfoProvider proxies) {
+    var proxy = proxies == null ? null : proxies.getProxyInfo(url.getProtocol());
+    if (proxy == null || ProxyUtils.validateNonProxyHosts(proxy, url.getHost())) {
+      return;
+    }
+    var proxyHost = new HttpHost(proxy.getHost(), proxy.getPort());
+    builder.setProxy(proxyHost);
+    if (StringUtils.isNotEmpty(proxy.getUserName())) {
+      var credentials = new BasicCredentialsProvider();
+      credentials.setCredentials(new AuthScope(proxyHost),
+          new UsernamePasswordCredentials(proxy.getUserName(), proxy.getPassword()));
+      builder.setDefaultCredentialsProvider(credentials);
+    }
+  }
+}
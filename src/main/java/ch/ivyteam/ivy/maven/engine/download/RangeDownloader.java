@@ -0,0 +1,372 @@
+package ch.ivyteam.ivy.maven.engine.download;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.util.EntityUtils;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.wagon.proxy.ProxyInfoProvider;
+
+/**
+ * Downloads a file with parallel HTTP range requests.
+ *
+ * <p>
+ * The file is assembled in a <code>.part</code> file next to the target. The
+ * completed chunks are tracked in a <code>.part.state</code> file, so that an
+ * interrupted download is resumed by the next build instead of starting over.
+ * The assembled file is {@link Verification verified} before it is moved to
+ * the target.
+ * </p>
+ *
+ * @since 14.0.0
+ */
+class RangeDownloader {
+
+  static final long DEFAULT_CHUNK_SIZE = 16 * 1024 * 1024;
+  private static final int MAX_ATTEMPTS = 3;
+
+  private final Log log;
+  private final ProxyInfoProvider proxies;
+  private final int threads;
+  private final long chunkSize;
+
+  RangeDownloader(Log log, ProxyInfoProvider proxies, int threads) {
+    this(log, proxies, threads, DEFAULT_CHUNK_SIZE);
+  }
+
+  RangeDownloader(Log log, ProxyInfoProvider proxies, int threads, long chunkSize) {
+    this.log = log;
+    this.proxies = proxies;
+    this.threads = threads;
+    this.chunkSize = chunkSize;
+  }
+
+  /**
+   * @param verification checks the content of the assembled file, which is
+   *          deleted if it fails
+   * @return <code>false</code> if the server does not support range requests
+   *         for the given url. Nothing is downloaded in this case.
+   */
+  boolean download(URL url, Path target, Verification verification) throws IOException {
+    try (var client = ProxyHttpClient.create(url, proxies, threads)) {
+      for (int attempt = 1;; attempt++) {
+        var remote = probe(client, url);
+        if (remote == null) {
+          log.debug("Server does not support range requests for " + url);
+          return false;
+        }
+        try {
+          download(client, url, remote, target, verification);
+          return true;
+        } catch (RemoteChangedException ex) {
+          Files.deleteIfExists(partFile(target));
+          Files.deleteIfExists(stateFile(target));
+          if (attempt >= MAX_ATTEMPTS) {
+            throw ex;
+          }
+          log.info(url + " changed on the server during the download, starting over");
+        }
+      }
+    }
+  }
+
+  private void download(CloseableHttpClient client, URL url, Remote remote, Path target,
+      Verification verification) throws IOException {
+    var part = partFile(target);
+    var state = DownloadState.load(stateFile(target), remote, chunkSize);
+    if (state == null || !Files.exists(part)) {
+      state = DownloadState.create(stateFile(target), remote, chunkSize);
+      try (var channel = FileChannel.open(part, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+          StandardOpenOption.TRUNCATE_EXISTING)) {
+        channel.write(ByteBuffer.allocate(1), remote.length - 1);
+      }
+    } else {
+      log.info("Resuming download of " + url + " (" + state.completedChunks() + "/" + state.chunks()
+          + " chunks available)");
+    }
+
+    downloadChunks(client, remote, part, state);
+    try {
+      verification.verify(part);
+    } catch (IOException ex) {
+      Files.deleteIfExists(part);
+      Files.deleteIfExists(stateFile(target));
+      throw ex;
+    }
+    Files.move(part, target, StandardCopyOption.REPLACE_EXISTING);
+    Files.deleteIfExists(stateFile(target));
+  }
+
+  static Path partFile(Path target) {
+    return target.resolveSibling(target.getFileName() + ".part");
+  }
+
+  static Path stateFile(Path target) {
+    return target.resolveSibling(target.getFileName() + ".part.state");
+  }
+
+  private Remote probe(CloseableHttpClient client, URL url) {
+    try {
+      var context = HttpClientContext.create();
+      var get = new HttpGet(url.toURI());
+      get.addHeader(HttpHeaders.RANGE, "bytes=0-0");
+      try (var response = client.execute(get, context)) {
+        var contentRange = response.getFirstHeader(HttpHeaders.CONTENT_RANGE);
+        if (response.getStatusLine().getStatusCode() != HttpStatus.SC_PARTIAL_CONTENT || contentRange == null) {
+          get.abort(); // the server may send the whole file, don't read it
+          return null;
+        }
+        EntityUtils.consume(response.getEntity());
+        long length = Long.parseLong(StringUtils.substringAfterLast(contentRange.getValue(), "/"));
+        return new Remote(finalLocation(url, context), length, validator(response));
+      }
+    } catch (IOException | URISyntaxException | NumberFormatException ex) {
+      log.debug("Failed to probe range support of " + url, ex);
+      return null;
+    }
+  }
+
+  /**
+   * @return a strong ETag or the Last-Modified date, which identifies the
+   *         version of the remote file in <code>If-Range</code> requests
+   */
+  private static String validator(HttpResponse response) {
+    var etag = response.getFirstHeader(HttpHeaders.ETAG);
+    if (etag != null && !etag.getValue().startsWith("W/")) { // weak ETags are not allowed in If-Range
+      return etag.getValue();
+    }
+    var lastModified = response.getFirstHeader(HttpHeaders.LAST_MODIFIED);
+    return lastModified == null ? null : lastModified.getValue();
+  }
+
+  private static URI finalLocation(URL url, HttpClientContext context) throws URISyntaxException {
+    var redirects = context.getRedirectLocations();
+    if (redirects == null || redirects.isEmpty()) {
+      return url.toURI();
+    }
+    return redirects.get(redirects.size() - 1);
+  }
+
+  private void downloadChunks(CloseableHttpClient client, Remote remote, Path part, DownloadState state) throws IOException {
+    try (var channel = FileChannel.open(part, StandardOpenOption.WRITE);
+        var executor = Executors.newFixedThreadPool(threads)) {
+      var chunks = new ArrayList<Future<?>>();
+      for (int chunk = 0; chunk < state.chunks(); chunk++) {
+        if (state.isDone(chunk)) {
+          continue;
+        }
+        var index = chunk;
+        chunks.add(executor.submit(() -> {
+          downloadChunk(client, remote, channel, index, state);
+          return null;
+        }));
+      }
+      awaitAll(chunks);
+    }
+  }
+
+  private static void awaitAll(ArrayList<Future<?>> chunks) throws IOException {
+    try {
+      for (var chunk : chunks) {
+        chunk.get();
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      chunks.forEach(chunk -> chunk.cancel(true));
+      throw new IOException("Download interrupted", ex);
+    } catch (ExecutionException ex) {
+      chunks.forEach(chunk -> chunk.cancel(true));
+      if (ex.getCause() instanceof IOException ioEx) {
+        throw ioEx;
+      }
+      throw new IOException("Chunk download failed", ex.getCause());
+    }
+  }
+
+  private void downloadChunk(CloseableHttpClient client, Remote remote, FileChannel channel, int chunk, DownloadState state) throws IOException {
+    long start = chunk * state.chunkSize;
+    long end = Math.min(start + state.chunkSize, remote.length) - 1;
+    for (int attempt = 1;; attempt++) {
+      try {
+        downloadRange(client, remote, channel, start, end);
+        channel.force(false); // the chunk must be on disk before the state claims it
+        state.markDone(chunk);
+        return;
+      } catch (RemoteChangedException ex) {
+        throw ex;
+      } catch (IOException ex) {
+        if (attempt >= MAX_ATTEMPTS) {
+          throw new IOException("Failed to download bytes " + start + "-" + end + " of " + remote.uri, ex);
+        }
+        log.debug("Retrying download of bytes " + start + "-" + end + " of " + remote.uri, ex);
+      }
+    }
+  }
+
+  private static void downloadRange(CloseableHttpClient client, Remote remote, FileChannel channel, long start, long end) throws IOException {
+    var get = new HttpGet(remote.uri);
+    get.addHeader(HttpHeaders.RANGE, "bytes=" + start + "-" + end);
+    if (remote.validator != null) {
+      get.addHeader(HttpHeaders.IF_RANGE, remote.validator);
+    }
+    try (var response = client.execute(get)) {
+      int status = response.getStatusLine().getStatusCode();
+      if (status != HttpStatus.SC_PARTIAL_CONTENT) {
+        get.abort();
+        if (status == HttpStatus.SC_OK && remote.validator != null) {
+          throw new RemoteChangedException(remote);
+        }
+        throw new IOException("Expected partial content for bytes " + start + "-" + end + " but got status " + status);
+      }
+      try (var in = response.getEntity().getContent()) {
+        long written = write(in, channel, start);
+        if (written != end - start + 1) {
+          throw new IOException("Received " + written + " bytes instead of " + (end - start + 1));
+        }
+      }
+    }
+  }
+
+  private static long write(InputStream in, FileChannel channel, long position) throws IOException {
+    var bytes = new byte[64 * 1024];
+    long pos = position;
+    int read;
+    while ((read = in.read(bytes)) != -1) {
+      var buffer = ByteBuffer.wrap(bytes, 0, read);
+      while (buffer.hasRemaining()) {
+        pos += channel.write(buffer, pos);
+      }
+    }
+    return pos - position;
+  }
+
+  /**
+   * Checks the content of a downloaded file.
+   */
+  @FunctionalInterface
+  interface Verification {
+
+    /**
+     * @throws IOException if the file is not what was meant to be downloaded
+     */
+    void verify(Path file) throws IOException;
+  }
+
+  record Remote(URI uri, long length, String validator) {}
+
+  /**
+   * The server answered a range request with the whole file, because it no
+   * longer matches the <code>If-Range</code> validator of the download.
+   */
+  private static final class RemoteChangedException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    RemoteChangedException(Remote remote) {
+      super(remote.uri + " changed on the server, it no longer matches " + remote.validator);
+    }
+  }
+
+  /**
+   * Tracks the completed chunks of a partial download.
+   */
+  static final class DownloadState {
+
+    private final Path file;
+    private final Remote remote;
+    private final long chunkSize;
+    private final BitSet done;
+
+    private DownloadState(Path file, Remote remote, long chunkSize, BitSet done) {
+      this.file = file;
+      this.remote = remote;
+      this.chunkSize = chunkSize;
+      this.done = done;
+    }
+
+    static DownloadState create(Path file, Remote remote, long chunkSize) {
+      return new DownloadState(file, remote, chunkSize, new BitSet());
+    }
+
+    static DownloadState load(Path file, Remote remote, long defaultChunkSize) {
+      if (!Files.exists(file)) {
+        return null;
+      }
+      var props = new Properties();
+      try (var in = Files.newInputStream(file)) {
+        props.load(in);
+        if (Long.parseLong(props.getProperty("length")) != remote.length
+            || !Objects.equals(props.getProperty("validator"), remote.validator)) {
+          return null;
+        }
+        var done = new BitSet();
+        Arrays.stream(StringUtils.split(props.getProperty("done", ""), ','))
+            .mapToInt(Integer::parseInt)
+            .forEach(done::set);
+        long chunkSize = Long.parseLong(props.getProperty("chunkSize", Long.toString(defaultChunkSize)));
+        return new DownloadState(file, remote, chunkSize, done);
+      } catch (IOException | RuntimeException _) {
+        return null; // corrupt state: start over
+      }
+    }
+
+    int chunks() {
+      return (int) ((remote.length + chunkSize - 1) / chunkSize);
+    }
+
+    synchronized int completedChunks() {
+      return done.cardinality();
+    }
+
+    synchronized boolean isDone(int chunk) {
+      return done.get(chunk);
+    }
+
+    synchronized void markDone(int chunk) {
+      done.set(chunk);
+      store();
+    }
+
+    private void store() {
+      var props = new Properties();
+      props.setProperty("length", Long.toString(remote.length));
+      props.setProperty("chunkSize", Long.toString(chunkSize));
+      if (remote.validator != null) {
+        props.setProperty("validator", remote.validator);
+      }
+      props.setProperty("done", done.stream().mapToObj(Integer::toString).collect(Collectors.joining(",")));
+      try (OutputStream out = Files.newOutputStream(file)) {
+        props.store(out, "engine download progress");
+      } catch (IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+    }
+  }
+}
@@ -1,17 +1,28 @@
 package ch.ivyteam.ivy.maven.engine.download;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Optional;
 import java.util.Scanner;
 import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
 
+import org.apache.commons.io.input.CloseShieldInputStream;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Strings;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.util.EntityUtils;
 import org.apache.maven.artifact.versioning.ArtifactVersion;
 import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
 import org.apache.maven.artifact.versioning.VersionRange;
@@ -22,9 +33,12 @@ import org.apache.maven.wagon.proxy.ProxyInfoProvider;
 import org.apache.maven.wagon.repository.Repository;
 
 import ch.ivyteam.ivy.maven.engine.EngineVersionEvaluator;
+import ch.ivyteam.ivy.maven.util.Sha256;
 
 public class URLEngineDownloader implements EngineDownloader {
 
+  private static final Pattern SHA256 = Pattern.compile("[0-9a-fA-F]{64}");
+
   private final URL engineDownloadUrl;
   private final URL engineListPageUrl;
   private final String osArchitecture;
@@ -32,12 +46,15 @@ public class URLEngineDownloader implements EngineDownloader {
   private final VersionRange ivyVersionRange;
   private final Log log;
   private final Path downloadDirectory;
+  private final int downloadThreads;
   private String zipFileName = null;
+  private URL resolvedEngineUrl = null;
+  private EngineZipCache cache = null;
   public ProxyInfoProvider proxies;
 
   public URLEngineDownloader(URL engineDownloadUrl, URL engineListPageUrl, String osArchitecture,
       String ivyVersion, VersionRange ivyVersionRange, Log log, Path downloadDirectory,
-      ProxyInfoProvider proxies) {
+      ProxyInfoProvider proxies, int downloadThreads) {
     this.engineDownloadUrl = engineDownloadUrl;
     this.engineListPageUrl = engineListPageUrl;
     this.osArchitecture = osArchitecture;
@@ -46,15 +63,75 @@ public class URLEngineDownloader implements EngineDownloader {
     this.log = log;
     this.downloadDirectory = downloadDirectory;
     this.proxies = proxies;
+    this.downloadThreads = downloadThreads;
+  }
+
+  /**
+   * Keeps downloaded engines in the given cache and serves them from there.
+   */
+  public URLEngineDownloader cache(EngineZipCache zipCache) {
+    this.cache = zipCache;
+    return this;
+  }
+
+  @Override
+  public boolean isDownloadTemporary() {
+    return cache == null;
   }
 
   @Override
   public Path downloadEngine() throws MojoExecutionException {
-    URL downloadUrlToUse = engineDownloadUrl;
-    if (downloadUrlToUse == null) {
-      downloadUrlToUse = findEngineDownloadUrlFromListPage();
+    return downloadEngineFromUrl(resolveEngineUrl());
+  }
+
+  /**
+   * Unpacks the engine into the given directory while it is downloaded. No
+   * zip file is written to the {@link #downloadDirectory}.
+   *
+   * @throws IOException if the served archive can not be unpacked as a stream.
+   *           The engine directory may contain partially unpacked content.
+   */
+  public void downloadAndUnpack(Path engineDir) throws MojoExecutionException, IOException {
+    var engineUrl = resolveEngineUrl();
+    log.info("Starting streaming engine install from " + engineUrl + " to " + engineDir);
+    try (var client = ProxyHttpClient.create(engineUrl, proxies, 1)) {
+      var get = new HttpGet(engineUrl.toURI());
+      try (var response = client.execute(get)) {
+        int status = response.getStatusLine().getStatusCode();
+        if (status != HttpStatus.SC_OK) {
+          throw new IOException("Engine download from '" + engineUrl + "' failed with status " + status);
+        }
+        var content = CloseShieldInputStream.wrap(response.getEntity().getContent());
+        int files;
+        try {
+          files = new ZipStreamUnpacker(engineDir).unpack(content);
+        } catch (IOException | RuntimeException ex) {
+          get.abort(); // do not drain the rest of the archive
+          throw ex;
+        }
+        EntityUtils.consume(response.getEntity());
+        log.info("Unpacked " + files + " files while downloading");
+      }
+    } catch (URISyntaxException ex) {
+      throw new MojoExecutionException("Invalid engine download url " + engineUrl, ex);
+    }
+  }
+
+  /**
+   * Evaluates the url to download the engine from. Afterwards the
+   * {@link #getZipFileNameFromDownloadLocation() zip file name} is known.
+   *
+   * @return engine download url
+   */
+  public URL resolveEngineUrl() throws MojoExecutionException {
+    if (resolvedEngineUrl == null) {
+      resolvedEngineUrl = engineDownloadUrl;
+      if (resolvedEngineUrl == null) {
+        resolvedEngineUrl = findEngineDownloadUrlFromListPage();
+      }
+      zipFileName = StringUtils.substringAfterLast(resolvedEngineUrl.getPath(), "/");
     }
-    return downloadEngineFromUrl(downloadUrlToUse);
+    return resolvedEngineUrl;
   }
 
   private URL findEngineDownloadUrlFromListPage() throws MojoExecutionException {
@@ -73,9 +150,40 @@ public class URLEngineDownloader implements EngineDownloader {
   }
 
   private Path downloadEngineFromUrl(URL engineUrl) throws MojoExecutionException {
-    var downloadZip = evaluateTargetFile(engineUrl);
+    if (cache == null) {
+      return download(engineUrl, Optional.empty());
+    }
+
+    var publishedSha256 = publishedSha256(engineUrl);
+    var cached = publishedSha256.isPresent()
+        ? cache.findBySha256(publishedSha256.get())
+        : cache.findByUrl(engineUrl);
+    if (cached.isPresent()) {
+      log.info("Using cached engine " + cached.get() + " for " + engineUrl);
+      return cached.get();
+    }
+
+    var downloadZip = download(engineUrl, publishedSha256);
+    try {
+      var sha256 = Sha256.of(downloadZip);
+      if (publishedSha256.isPresent() && !publishedSha256.get().equalsIgnoreCase(sha256)) {
+        Files.delete(downloadZip);
+        throw new MojoExecutionException("Checksum of engine downloaded from '" + engineUrl + "' is " + sha256
+            + " but " + publishedSha256.get() + " was published.");
+      }
+      return cache.store(engineUrl, downloadZip, sha256);
+    } catch (IOException ex) {
+      throw new MojoExecutionException("Failed to cache engine downloaded from '" + engineUrl + "'", ex);
+    }
+  }
+
+  private Path download(URL engineUrl, Optional<String> publishedSha256) throws MojoExecutionException {
+    var downloadZip = evaluateTargetFile();
     try {
       log.info("Starting engine download from " + engineUrl);
+      if (downloadThreads > 1 && rangeDownload(engineUrl, downloadZip, publishedSha256)) {
+        return downloadZip;
+      }
       var repo = new Repository("engine.repo", StringUtils.substringBeforeLast(engineUrl.toExternalForm(), "/"));
       var resource = StringUtils.substringAfterLast(engineUrl.getPath(), "/");
       wagonDownload(repo, resource, downloadZip);
@@ -86,8 +194,77 @@ public class URLEngineDownloader implements EngineDownloader {
     }
   }
 
-  private Path evaluateTargetFile(URL engineUrl) {
-    zipFileName = StringUtils.substringAfterLast(engineUrl.getPath(), "/");
+  /**
+   * Reads the checksum published next to the engine zip as
+   * <code>.sha256</code> file, in plain or <code>sha256sum</code> format.
+   */
+  private Optional<String> publishedSha256(URL engineUrl) {
+    try (var client = ProxyHttpClient.create(engineUrl, proxies, 1)) {
+      var get = new HttpGet(engineUrl.toExternalForm() + ".sha256");
+      try (var response = client.execute(get)) {
+        if (response.getStatusLine().getStatusCode() != HttpStatus.SC_OK) {
+          EntityUtils.consume(response.getEntity());
+          log.debug("No checksum published for " + engineUrl);
+          return Optional.empty();
+        }
+        var checksum = StringUtils.substringBefore(EntityUtils.toString(response.getEntity()).strip(), " ");
+        if (!SHA256.matcher(checksum).matches()) {
+          log.debug("Ignoring invalid checksum published for " + engineUrl);
+          return Optional.empty();
+        }
+        return Optional.of(checksum.toLowerCase());
+      }
+    } catch (IOException | IllegalArgumentException ex) {
+      log.debug("Failed to read published checksum of " + engineUrl, ex);
+      return Optional.empty();
+    }
+  }
+
+  private boolean rangeDownload(URL engineUrl, Path downloadZip, Optional<String> publishedSha256)
+      throws IOException {
+    // stable name: an interrupted download is resumed by the next build
+    var downloaded = downloadDirectory.resolve(zipFileName + ".download");
+    RangeDownloader.Verification verification = publishedSha256.isPresent()
+        ? zip -> verifyChecksum(zip, publishedSha256.get())
+        : URLEngineDownloader::verifyArchive;
+    if (!new RangeDownloader(log, proxies, downloadThreads).download(engineUrl, downloaded, verification)) {
+      return false;
+    }
+    Files.move(downloaded, downloadZip);
+    return true;
+  }
+
+  private static void verifyChecksum(Path zip, String publishedSha256) throws IOException {
+    var sha256 = Sha256.of(zip);
+    if (!publishedSha256.equalsIgnoreCase(sha256)) {
+      throw new IOException("Downloaded engine archive '" + zip + "' has checksum " + sha256
+          + " but " + publishedSha256 + " was published");
+    }
+  }
+
+  /**
+   * Reads the central directory and checks the CRC of every entry, as no
+   * checksum was published to compare the whole archive with.
+   */
+  static void verifyArchive(Path zip) throws IOException {
+    try (var archive = new ZipFile(zip.toFile())) {
+      var entries = archive.entries();
+      while (entries.hasMoreElements()) {
+        var entry = entries.nextElement();
+        var crc = new CRC32();
+        try (var in = new CheckedInputStream(archive.getInputStream(entry), crc)) {
+          in.transferTo(OutputStream.nullOutputStream());
+        }
+        if (entry.getCrc() != -1 && entry.getCrc() != crc.getValue()) {
+          throw new IOException("Downloaded engine archive '" + zip + "' has a corrupt entry " + entry.getName());
+        }
+      }
+    } catch (ZipException ex) {
+      throw new IOException("Downloaded engine archive '" + zip + "' is not a valid zip file", ex);
+    }
+  }
+
+  private Path evaluateTargetFile() {
     var downloadZip = downloadDirectory.resolve(zipFileName);
     int tempFileSuffix = 0;
     while (Files.exists(downloadZip)) {
@@ -0,0 +1,66 @@
+package ch.ivyteam.ivy.maven.engine.download;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Unpacks a zip archive from a stream, entry by entry, as the bytes arrive.
+ *
+ * <p>
+ * Archives that can not be read sequentially, e.g. stored entries with a
+ * trailing data descriptor, are rejected with a
+ * {@link java.util.zip.ZipException}. Unix file permissions are not restored,
+ * as they are only declared in the central directory at the end of the
+ * archive.
+ * </p>
+ *
+ * @since 14.0.0
+ */
+class ZipStreamUnpacker {
+
+  private final Path targetDir;
+
+  ZipStreamUnpacker(Path targetDir) {
+    this.targetDir = targetDir.toAbsolutePath().normalize();
+  }
+
+  /**
+   * @return the number of unpacked files
+   */
+  int unpack(InputStream in) throws IOException {
+    int files = 0;
+    try (var zip = new ZipInputStream(new BufferedInputStream(in, 64 * 1024))) {
+      var entry = zip.getNextEntry();
+      if (entry == null) {
+        throw new IOException("Stream does not contain any zip entry");
+      }
+      for (; entry != null; entry = zip.getNextEntry()) {
+        var target = resolve(entry.getName());
+        if (entry.isDirectory()) {
+          Files.createDirectories(target);
+          continue;
+        }
+        Files.createDirectories(target.getParent());
+        Files.copy(zip, target, StandardCopyOption.REPLACE_EXISTING);
+        if (entry.getLastModifiedTime() != null) {
+          Files.setLastModifiedTime(target, entry.getLastModifiedTime());
+        }
+        files++;
+      }
+    }
+    return files;
+  }
+
+  private Path resolve(String entryName) throws IOException {
+    var target = targetDir.resolve(entryName).normalize();
+    if (!target.startsWith(targetDir)) {
+      throw new IOException("Zip entry '" + entryName + "' points outside of " + targetDir);
+    }
+    return target;
+  }
+}
@@ -2,14 +2,22 @@ package ch.ivyteam.ivy.maven.generate;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
 
+import org.apache.commons.io.FilenameUtils;
+import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
-import org.codehaus.plexus.util.DirectoryScanner;
 
+import ch.ivyteam.ivy.maven.util.FingerprintCache;
+import ch.ivyteam.ivy.maven.util.ProjectFileIndex;
+import ch.ivyteam.ivy.maven.util.Sha256;
 import ch.ivyteam.ivy.scripting.dataclass.internal.serialization.DataClassSerializer;
 import ch.ivyteam.ivy.scripting.dataclass.mapper.IvyScriptClassInfoMapper;
 import ch.ivyteam.ivy.scripting.dataclass.restricted.codegen.DataClassJavaSource;
@@ -52,6 +60,11 @@ public class GenerateDataClassSourcesMojo extends AbstractMojo {
   @Parameter(property = "project", required = true, readonly = true)
   MavenProject project;
 
+  @Parameter(defaultValue = "${session}", readonly = true)
+  MavenSession session;
+
+  static final String FINGERPRINTS = "ivy-dataclass.fingerprints";
+
   private static final String[] INCLUDEDS = {
       "dataclass/**/*.d.json",
       "dialog/**/*.d.json"
@@ -63,26 +76,73 @@ public class GenerateDataClassSourcesMojo extends AbstractMojo {
       return;
     }
     getLog().info("Generating Ivy data class sources...");
-    var jsonFiles = dataClassFiles();
     var projectDir = project.getBasedir().toPath();
-    var writer = new NioSourceWriter(projectDir);
-    for (var jsonFile : jsonFiles) {
-      try (var is = Files.newInputStream(projectDir.resolve(jsonFile))) {
-        var model = DataClassSerializer.builder().build().load(is).model();
-        var classInfo = IvyScriptClassInfoMapper.toIvyScriptClassInfo(model);
-        new DataClassJavaSource(classInfo).write(writer);
-      } catch (IOException ex) {
-        throw new UncheckedIOException(ex);
+    var index = ProjectFileIndex.of(session, projectDir);
+    var cache = FingerprintCache.load(fingerprintFile(), generatorVersion());
+    var inputs = new HashSet<String>();
+    int unchanged = 0;
+    try {
+      for (var jsonFile : dataClassFiles(index)) {
+        var input = FilenameUtils.separatorsToUnix(jsonFile.toString());
+        inputs.add(input);
+        var hash = Sha256.of(projectDir.resolve(jsonFile));
+        if (cache.isUpToDate(input, hash, projectDir)) {
+          unchanged++;
+          continue;
+        }
+        var writer = new NioSourceWriter(projectDir, index);
+        generate(projectDir.resolve(jsonFile), writer);
+        cache.put(input, hash, writer.writtenFiles());
       }
+      for (var obsolete : cache.obsoleteOutputs(inputs)) {
+        getLog().debug("Deleting obsolete data class source " + obsolete);
+        Files.deleteIfExists(projectDir.resolve(obsolete));
+        index.invalidate(Path.of(obsolete));
+      }
+      cache.store();
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    getLog().info("Generated sources of " + (inputs.size() - unchanged) + " data classes, "
+        + unchanged + " unchanged data classes skipped.");
+  }
+
+  private static void generate(Path jsonFile, NioSourceWriter writer) throws IOException {
+    try (var is = Files.newInputStream(jsonFile)) {
+      var model = DataClassSerializer.builder().build().load(is).model();
+      var classInfo = IvyScriptClassInfoMapper.toIvyScriptClassInfo(model);
+      new DataClassJavaSource(classInfo).write(writer);
     }
   }
 
-  private String[] dataClassFiles() {
-    var scanner = new DirectoryScanner();
-    scanner.setBasedir(project.getBasedir());
-    scanner.setIncludes(INCLUDEDS);
-    scanner.scan();
-    return scanner.getIncludedFiles();
+  /**
+   * Remembers the sources that were generated from each data class, so that
+   * unchanged data classes are not generated again.
+   */
+  private Path fingerprintFile() {
+    return Path.of(project.getBuild().getDirectory()).resolve(FINGERPRINTS);
+  }
+
+  /**
+   * @return identifies the generator, which is part of the engine. If the
+   *         engine changes, all data classes are generated again.
+   */
+  private String generatorVersion() {
+    var source = DataClassJavaSource.class.getProtectionDomain().getCodeSource();
+    try {
+      var location = Path.of(source.getLocation().toURI());
+      if (Files.isRegularFile(location)) {
+        return Sha256.of(location); // a rebuilt SNAPSHOT engine keeps its location
+      }
+      var classFile = location.resolve(DataClassJavaSource.class.getName().replace('.', '/') + ".class");
+      return location + "@" + Files.getLastModifiedTime(classFile).toMillis();
+    } catch (IOException | URISyntaxException | RuntimeException ex) {
+      getLog().debug("Failed to identify the data class generator, generating all data classes", ex);
+      return "unknown@" + System.nanoTime(); // never matches a stored cache
+    }
+  }
 
+  private List<Path> dataClassFiles(ProjectFileIndex index) {
+    return index.files(INCLUDEDS);
   }
 }
@@ -4,16 +4,18 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 
+import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
-import org.codehaus.plexus.util.DirectoryScanner;
 
 import ch.ivyteam.ivy.dialog.form.io.DialogFormIO;
 import ch.ivyteam.ivy.dialog.form.jsf.JsfFormRenderer;
 import ch.ivyteam.ivy.dialog.form.jsf.build.JsonFormResourceBuilder;
+import ch.ivyteam.ivy.maven.util.ProjectFileIndex;
 import ch.ivyteam.util.io.resource.FilePath;
 
 /**
@@ -54,6 +56,9 @@ public class GenerateDialogFormSourcesMojo extends AbstractMojo {
   @Parameter(property = "project", required = true, readonly = true)
   MavenProject project;
 
+  @Parameter(defaultValue = "${session}", readonly = true)
+  MavenSession session;
+
   private static final String[] INCLUDEDS = {"dialog/**/*" + DialogFormIO.JSON_EXT};
 
   @Override
@@ -62,9 +67,10 @@ public class GenerateDialogFormSourcesMojo extends AbstractMojo {
       return;
     }
     getLog().info("Generating Ivy dialog form sources...");
-    var jsonFiles = formFiles();
     var projectDir = project.getBasedir().toPath();
-    var writer = new NioSourceWriter(projectDir);
+    var index = ProjectFileIndex.of(session, projectDir);
+    var jsonFiles = formFiles(index);
+    var writer = new NioSourceWriter(projectDir, index);
     var renderer = new JsfFormRenderer();
     for (var jsonFile : jsonFiles) {
       try (var is = Files.newInputStream(projectDir.resolve(jsonFile))) {
@@ -76,11 +82,7 @@ public class GenerateDialogFormSourcesMojo extends AbstractMojo {
     }
   }
 
-  private String[] formFiles() {
-    var scanner = new DirectoryScanner();
-    scanner.setBasedir(project.getBasedir());
-    scanner.setIncludes(INCLUDEDS);
-    scanner.scan();
-    return scanner.getIncludedFiles();
+  private List<Path> formFiles(ProjectFileIndex index) {
+    return index.files(INCLUDEDS);
   }
 }
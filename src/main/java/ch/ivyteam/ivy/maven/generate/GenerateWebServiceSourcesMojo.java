@@ -3,14 +3,17 @@ package ch.ivyteam.ivy.maven.generate;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
 
+import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
-import org.codehaus.plexus.util.DirectoryScanner;
 
 import ch.ivyteam.ivy.IvyConstants;
+import ch.ivyteam.ivy.maven.util.ProjectFileIndex;
 import ch.ivyteam.ivy.process.io.JsonProc;
 import ch.ivyteam.ivy.process.model.WebserviceProcess;
 import ch.ivyteam.ivy.webservice.process.restricted.WebserviceSourceGenerator;
@@ -53,6 +56,9 @@ public class GenerateWebServiceSourcesMojo extends AbstractMojo {
   @Parameter(property = "project", required = true, readonly = true)
   MavenProject project;
 
+  @Parameter(defaultValue = "${session}", readonly = true)
+  MavenSession session;
+
   private static final String[] INCLUDEDS = {"process/**/*." + IvyConstants.PROCESS_EXTENSION};
 
   @Override
@@ -61,9 +67,10 @@ public class GenerateWebServiceSourcesMojo extends AbstractMojo {
       return;
     }
     getLog().info("Generating Ivy web service process sources...");
-    var jsonFiles = processFiles();
     var projectDir = project.getBasedir().toPath();
-    var writer = new NioSourceWriter(projectDir);
+    var index = ProjectFileIndex.of(session, projectDir);
+    var jsonFiles = processFiles(index);
+    var writer = new NioSourceWriter(projectDir, index);
     for (var jsonFile : jsonFiles) {
       try (var is = Files.newInputStream(projectDir.resolve(jsonFile))) {
         var process = JsonProc.read("srcGenProcess", is);
@@ -76,11 +83,7 @@ public class GenerateWebServiceSourcesMojo extends AbstractMojo {
     }
   }
 
-  private String[] processFiles() {
-    var scanner = new DirectoryScanner();
-    scanner.setBasedir(project.getBasedir());
-    scanner.setIncludes(INCLUDEDS);
-    scanner.scan();
-    return scanner.getIncludedFiles();
+  private List<Path> processFiles(ProjectFileIndex index) {
+    return index.files(INCLUDEDS);
   }
 }
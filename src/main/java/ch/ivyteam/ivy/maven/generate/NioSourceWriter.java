@@ -3,31 +3,52 @@ package ch.ivyteam.ivy.maven.generate;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
+import ch.ivyteam.ivy.maven.util.ProjectFileIndex;
 import ch.ivyteam.util.io.generate.SourceWriter;
 
 public class NioSourceWriter implements SourceWriter {
 
   private final Path projectDir;
+  private final ProjectFileIndex index;
+  private final List<String> writtenFiles = new ArrayList<>();
 
-  NioSourceWriter(Path projectDir) {
+  /**
+   * @param index is told about new files, so that later lookups see them
+   */
+  NioSourceWriter(Path projectDir, ProjectFileIndex index) {
     this.projectDir = projectDir;
+    this.index = index;
   }
 
   @Override
   public void write(String projectRelativePath, String content) {
     var srcFile = projectDir.resolve(projectRelativePath);
+    writtenFiles.add(projectRelativePath);
     try {
-      if (!Files.exists(srcFile) || !Objects.equals(Files.readString(srcFile), content)) {
+      if (!Files.exists(srcFile)) {
         Files.createDirectories(srcFile.getParent());
         Files.writeString(srcFile, content);
+        index.invalidate(Path.of(projectRelativePath));
+      } else if (!Objects.equals(Files.readString(srcFile), content)) {
+        Files.writeString(srcFile, content);
       }
     } catch (IOException ex) {
       throw new RuntimeException(ex);
     }
   }
 
+  /**
+   * @return project relative paths of all files that were written by this
+   *         writer, even if their content did not change
+   */
+  List<String> writtenFiles() {
+    return List.copyOf(writtenFiles);
+  }
+
   @Override
   public boolean exists(String projectRelativePath) {
     return Files.exists(projectDir.resolve(projectRelativePath));
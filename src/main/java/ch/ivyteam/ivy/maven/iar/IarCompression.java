@@ -0,0 +1,73 @@
+package ch.ivyteam.ivy.maven.iar;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.ZipEntry;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Compresses the content of single IAR entries, independent of the archive
+ * they are written to.
+ *
+ * @since 14.0.0
+ */
+class IarCompression {
+
+  /**
+   * Files that are larger are streamed into the archive instead of being
+   * compressed in memory.
+   */
+  static final long MAX_IN_MEMORY_SIZE = 8 * 1024 * 1024;
+
+  private static final Set<String> COMPRESSED_EXTENSIONS = Set.of(
+      "jar", "war", "ear", "iar", "zip", "gz", "tgz", "bz2", "xz", "7z",
+      "png", "jpg", "jpeg", "gif", "webp", "woff", "woff2",
+      "mp3", "mp4", "ogg", "webm");
+
+  record Compressed(int method, long size, long crc, byte[] data) {}
+
+  /**
+   * @return <code>true</code> if the file is already compressed and would not
+   *         get smaller by deflating it, e.g. jars or images
+   */
+  static boolean isCompressed(String name) {
+    var extension = StringUtils.substringAfterLast(name, ".").toLowerCase(Locale.ROOT);
+    return COMPRESSED_EXTENSIONS.contains(extension);
+  }
+
+  /**
+   * Deflates a file in memory. If its content does not get smaller, it is kept
+   * uncompressed.
+   */
+  static Compressed compress(Path file) throws IOException {
+    var content = Files.readAllBytes(file);
+    var crc = new CRC32();
+    crc.update(content);
+    var deflated = deflate(content);
+    if (deflated.length >= content.length) {
+      return new Compressed(ZipEntry.STORED, content.length, crc.getValue(), content);
+    }
+    return new Compressed(ZipEntry.DEFLATED, content.length, crc.getValue(), deflated);
+  }
+
+  private static byte[] deflate(byte[] content) throws IOException {
+    var deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true); // raw deflate, as stored in zips
+    try {
+      var out = new ByteArrayOutputStream(Math.max(content.length / 2, 64));
+      try (var deflating = new DeflaterOutputStream(out, deflater)) {
+        deflating.write(content);
+      }
+      return out.toByteArray();
+    } finally {
+      deflater.end();
+    }
+  }
+}
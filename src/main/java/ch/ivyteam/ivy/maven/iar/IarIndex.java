@@ -0,0 +1,109 @@
+package ch.ivyteam.ivy.maven.iar;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Remembers the source file of each IAR entry: its size, modification time and
+ * the CRC of its content, and the digest of the whole IAR content. It is
+ * stored next to the IAR and is only valid as long as the IAR it describes has
+ * not been changed by someone else.
+ *
+ * @since 14.0.0
+ */
+class IarIndex {
+
+  private static final String HEADER = "# IAR index 2";
+  private static final String SEPARATOR = "\t";
+
+  record Entry(long size, long lastModified, long crc) {}
+
+  private final Map<String, Entry> entries = new LinkedHashMap<>();
+  private String digest;
+
+  void put(String name, Entry entry) {
+    entries.put(name, entry);
+  }
+
+  Entry get(String name) {
+    return entries.get(name);
+  }
+
+  /**
+   * @return digest of the IAR content, or <code>null</code> if unknown
+   */
+  String digest() {
+    return digest;
+  }
+
+  void digest(String contentDigest) {
+    this.digest = contentDigest;
+  }
+
+  boolean isEmpty() {
+    return entries.isEmpty();
+  }
+
+  int size() {
+    return entries.size();
+  }
+
+  /**
+   * @param settings how the IAR is packed
+   * @return the stored index, or an empty index if there is none, if it does
+   *         not describe the current content of the <code>iar</code> or if the
+   *         IAR was packed with other settings
+   */
+  static IarIndex load(Path indexFile, Path iar, String settings) {
+    var index = new IarIndex();
+    if (!Files.isRegularFile(indexFile) || !Files.isRegularFile(iar)) {
+      return index;
+    }
+    try (var lines = Files.lines(indexFile, StandardCharsets.UTF_8)) {
+      var it = lines.iterator();
+      if (!it.hasNext() || !HEADER.equals(it.next())
+          || !it.hasNext() || !it.next().equals(describe(iar))
+          || !it.hasNext() || !it.next().equals("settings" + SEPARATOR + settings)
+          || !it.hasNext()) {
+        return index;
+      }
+      index.digest(StringUtils.substringAfter(it.next(), "digest" + SEPARATOR));
+      while (it.hasNext()) {
+        var fields = it.next().split(SEPARATOR, 4);
+        index.put(fields[3], new Entry(Long.parseLong(fields[0]), Long.parseLong(fields[1]),
+            Long.parseLong(fields[2])));
+      }
+      return index;
+    } catch (IOException | RuntimeException ex) {
+      return new IarIndex();
+    }
+  }
+
+  void store(Path indexFile, Path iar, String settings) throws IOException {
+    var content = new StringBuilder(HEADER).append('\n')
+        .append(describe(iar)).append('\n')
+        .append("settings").append(SEPARATOR).append(settings).append('\n')
+        .append("digest").append(SEPARATOR).append(digest).append('\n');
+    for (var entry : entries.entrySet()) {
+      var value = entry.getValue();
+      content.append(value.size()).append(SEPARATOR)
+          .append(value.lastModified()).append(SEPARATOR)
+          .append(value.crc()).append(SEPARATOR)
+          .append(entry.getKey()).append('\n');
+    }
+    Files.createDirectories(indexFile.toAbsolutePath().getParent());
+    Files.writeString(indexFile, content, StandardCharsets.UTF_8);
+  }
+
+  private static String describe(Path iar) throws IOException {
+    var attrs = Files.readAttributes(iar, BasicFileAttributes.class);
+    return "iar" + SEPARATOR + attrs.size() + SEPARATOR + attrs.lastModifiedTime().toMillis();
+  }
+}
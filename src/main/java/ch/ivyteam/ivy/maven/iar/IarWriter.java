@@ -0,0 +1,443 @@
+package ch.ivyteam.ivy.maven.iar;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.ZipEntry;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.UnixStat;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.maven.plugin.logging.Log;
+
+import ch.ivyteam.ivy.maven.iar.IarCompression.Compressed;
+import ch.ivyteam.ivy.maven.util.Sha256;
+
+/**
+ * Writes an IAR incrementally.
+ *
+ * <p>
+ * The size, modification time and CRC of every packed file is kept in an
+ * index next to the IAR. On the next run, files that did not change since are
+ * copied raw (still compressed) from the previous IAR. Only new and changed
+ * files are compressed again.
+ * </p>
+ *
+ * <p>
+ * Changed files are deflated concurrently on a pool of {@link #threads(int)
+ * threads}, but written in the order they were added. The files compressed
+ * ahead in memory are bounded by {@link #MAX_BYTES_AHEAD}. Files that are
+ * already compressed, like jars or images, are stored without compression.
+ * </p>
+ *
+ * @since 14.0.0
+ */
+public class IarWriter {
+
+  /**
+   * Keeps the default permissions of the zip entry.
+   */
+  public static final int NO_MODE = -1;
+
+  /**
+   * Upper bound of the size of the files that are compressed in memory ahead
+   * of the entry that is written.
+   */
+  static final long MAX_BYTES_AHEAD = 64 * 1024 * 1024;
+
+  private final Path iar;
+  private final Path indexFile;
+  private final Log log;
+  private final List<Source> sources = new ArrayList<>();
+  private final Set<String> names = new HashSet<>();
+  private int threads = 1;
+  private Instant reproducibleTime;
+  private long maxBytesAhead = MAX_BYTES_AHEAD;
+
+  /**
+   * @param indexFile where the index of the packed files is kept between runs
+   */
+  public IarWriter(Path iar, Path indexFile, Log log) {
+    this.iar = iar;
+    this.indexFile = indexFile;
+    this.log = log;
+  }
+
+  /**
+   * Adds a directory entry. Entries that have already been added are ignored.
+   */
+  public void addDirectory(String name, Path dir) {
+    addDirectory(name, dir, NO_MODE);
+  }
+
+  /**
+   * @param unixMode permissions of the entry, e.g. <code>0755</code>, or
+   *          {@link #NO_MODE}
+   */
+  public void addDirectory(String name, Path dir, int unixMode) {
+    var dirName = normalize(name);
+    if (!dirName.endsWith("/")) {
+      dirName += "/";
+    }
+    addParentDirectories(dirName);
+    add(dirName, dir, unixMode);
+  }
+
+  /**
+   * Adds a file entry. Entries that have already been added are ignored: the
+   * first one wins.
+   */
+  public void addFile(String name, Path file) {
+    addFile(name, file, NO_MODE);
+  }
+
+  /**
+   * @param unixMode permissions of the entry, e.g. <code>0644</code>, or
+   *          {@link #NO_MODE}
+   */
+  public void addFile(String name, Path file, int unixMode) {
+    var fileName = normalize(name);
+    addParentDirectories(fileName);
+    add(fileName, file, unixMode);
+  }
+
+  private void addParentDirectories(String name) {
+    var end = name.indexOf('/');
+    while (end > 0 && end < name.length() - 1) {
+      add(name.substring(0, end + 1), null, NO_MODE);
+      end = name.indexOf('/', end + 1);
+    }
+  }
+
+  private void add(String name, Path path, int unixMode) {
+    if (names.add(name)) {
+      var mode = unixMode == NO_MODE ? NO_MODE : unixMode & UnixStat.PERM_MASK;
+      sources.add(new Source(name, path, mode));
+    }
+  }
+
+  private static String normalize(String name) {
+    var normalized = name.replace('\\', '/');
+    while (normalized.startsWith("/")) {
+      normalized = normalized.substring(1);
+    }
+    return normalized;
+  }
+
+  /**
+   * @param threads number of threads that compress entries concurrently
+   */
+  public IarWriter threads(int threads) {
+    this.threads = Math.max(threads, 1);
+    return this;
+  }
+
+  /**
+   * Packs a reproducible IAR: the entries are sorted by name and all of them
+   * get the same modification time.
+   */
+  public IarWriter reproducible(Instant time) {
+    this.reproducibleTime = time;
+    return this;
+  }
+
+  IarWriter maxBytesAhead(long bytes) {
+    this.maxBytesAhead = bytes;
+    return this;
+  }
+
+  public void write() throws IOException {
+    var settings = reproducibleTime == null ? "default" : "reproducible " + reproducibleTime.getEpochSecond();
+    var previous = IarIndex.load(indexFile, iar, settings);
+    var scanned = scan(previous);
+    var digest = digest(settings, scanned);
+    if (digest.equals(previous.digest())) {
+      log.info("Skipped packing of " + iar.getFileName() + ", its content did not change");
+      return;
+    }
+
+    var next = new IarIndex();
+    var parent = iar.toAbsolutePath().getParent();
+    Files.createDirectories(parent);
+    var tmp = Files.createTempFile(parent, iar.getFileName().toString(), ".tmp");
+    try {
+      try (var old = previous.isEmpty() ? null : ZipFile.builder().setPath(iar).get();
+          var out = new ZipArchiveOutputStream(tmp)) {
+        write(plan(scanned, old), old, next, out);
+      }
+      Files.move(tmp, iar, StandardCopyOption.REPLACE_EXISTING);
+    } finally {
+      Files.deleteIfExists(tmp);
+    }
+    next.digest(digest);
+    next.store(indexFile, iar, settings);
+  }
+
+  private List<Scanned> scan(IarIndex previous) throws IOException {
+    var ordered = new ArrayList<>(sources);
+    if (reproducibleTime != null) {
+      ordered.sort(Comparator.comparing(Source::name));
+    }
+    var scanned = new ArrayList<Scanned>();
+    for (var source : ordered) {
+      if (source.isDirectory()) {
+        scanned.add(new Scanned(source, null, null));
+        continue;
+      }
+      var attrs = Files.readAttributes(source.path(), BasicFileAttributes.class);
+      var known = previous.get(source.name());
+      if (known != null
+          && (known.size() != attrs.size() || known.lastModified() != attrs.lastModifiedTime().toMillis())) {
+        known = null;
+      }
+      scanned.add(new Scanned(source, attrs, known));
+    }
+    return scanned;
+  }
+
+  /**
+   * The digest covers everything that is written to the IAR: the names,
+   * contents and times of all entries. Only the files that changed since the
+   * last run are read to compute it.
+   */
+  private String digest(String settings, List<Scanned> scanned) throws IOException {
+    var digest = Sha256.digest();
+    digest.update(settings.getBytes(StandardCharsets.UTF_8));
+    for (var file : scanned) {
+      var entry = new StringBuilder("\n").append(file.source().name());
+      if (file.source().unixMode() != NO_MODE) {
+        entry.append('\t').append(Integer.toOctalString(file.source().unixMode()));
+      }
+      if (file.attrs() != null) {
+        var crc = file.known() != null ? file.known().crc() : crc(file.source().path());
+        entry.append('\t').append(file.attrs().size()).append('\t').append(crc);
+        if (reproducibleTime == null) {
+          entry.append('\t').append(file.attrs().lastModifiedTime().toMillis());
+        }
+      }
+      digest.update(entry.toString().getBytes(StandardCharsets.UTF_8));
+    }
+    return Sha256.toHex(digest);
+  }
+
+  private static long crc(Path file) throws IOException {
+    var crc = new CRC32();
+    try (var in = new CheckedInputStream(Files.newInputStream(file), crc)) {
+      in.transferTo(OutputStream.nullOutputStream());
+    }
+    return crc.getValue();
+  }
+
+  private static List<Step> plan(List<Scanned> scanned, ZipFile old) {
+    var steps = new ArrayList<Step>();
+    for (var file : scanned) {
+      var source = file.source();
+      if (source.isDirectory()) {
+        steps.add(new Step(source, Mode.DIRECTORY, null, null));
+        continue;
+      }
+      var packed = unchangedEntry(file, old);
+      if (packed != null) {
+        steps.add(new Step(source, Mode.REUSE, file.attrs(), packed));
+      } else if (IarCompression.isCompressed(source.name())) {
+        steps.add(new Step(source, Mode.STORE, file.attrs(), null));
+      } else if (file.attrs().size() > IarCompression.MAX_IN_MEMORY_SIZE) {
+        steps.add(new Step(source, Mode.DEFLATE_STREAMED, file.attrs(), null));
+      } else {
+        steps.add(new Step(source, Mode.DEFLATE, file.attrs(), null));
+      }
+    }
+    return steps;
+  }
+
+  private static ZipArchiveEntry unchangedEntry(Scanned file, ZipFile old) {
+    var known = file.known();
+    if (known == null || old == null) {
+      return null;
+    }
+    var packed = old.getEntry(file.source().name());
+    if (packed == null || packed.getSize() != known.size() || packed.getCrc() != known.crc()) {
+      return null;
+    }
+    var mode = file.source().unixMode();
+    if (mode != NO_MODE && packed.getUnixMode() != (UnixStat.FILE_FLAG | mode)) {
+      return null; // permissions changed
+    }
+    return packed;
+  }
+
+  /**
+   * Entries are compressed concurrently, a bounded number of entries and bytes
+   * ahead of the one that is written. They are written in the order they were
+   * added.
+   */
+  private void write(List<Step> steps, ZipFile old, IarIndex next, ZipArchiveOutputStream out)
+      throws IOException {
+    var compressions = new HashMap<Integer, Future<Compressed>>();
+    var window = threads * 4;
+    int ahead = 0;
+    long bytesAhead = 0;
+    int reused = 0;
+    int stored = 0;
+    try (var executor = Executors.newFixedThreadPool(threads)) {
+      try {
+        for (int i = 0; i < steps.size(); i++) {
+          for (; ahead < steps.size() && ahead < i + window; ahead++) {
+            var step = steps.get(ahead);
+            if (step.mode() == Mode.DEFLATE) {
+              if (bytesAhead > 0 && bytesAhead + step.attrs().size() > maxBytesAhead) {
+                break; // continues once the pending entries are written
+              }
+              bytesAhead += step.attrs().size();
+              compressions.put(ahead, executor.submit(() -> IarCompression.compress(step.source().path())));
+            }
+          }
+          var step = steps.get(i);
+          switch (step.mode()) {
+            case DIRECTORY -> writeDirectory(step.source(), out);
+            case REUSE -> {
+              copyRaw(step, old, next, out);
+              reused++;
+            }
+            case STORE -> {
+              writeStreamed(step, ZipEntry.STORED, next, out);
+              stored++;
+            }
+            case DEFLATE_STREAMED -> writeStreamed(step, ZipEntry.DEFLATED, next, out);
+            case DEFLATE -> {
+              var compressed = await(compressions.remove(i));
+              bytesAhead -= step.attrs().size();
+              if (writeCompressed(step, compressed, next, out) == ZipEntry.STORED) {
+                stored++;
+              }
+            }
+          }
+        }
+      } finally {
+        compressions.values().forEach(compression -> compression.cancel(true));
+      }
+    }
+    log.info("Packed " + next.size() + " files into " + iar.getFileName() + " (" + reused
+        + " unchanged files reused from the previous IAR, " + stored + " stored without compression)");
+  }
+
+  private static Compressed await(Future<Compressed> compression) throws IOException {
+    try {
+      return compression.get();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Packing interrupted", ex);
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof IOException ioEx) {
+        throw ioEx;
+      }
+      throw new IOException("Packing failed", ex.getCause());
+    }
+  }
+
+  private void writeDirectory(Source source, ZipArchiveOutputStream out) throws IOException {
+    var entry = new ZipArchiveEntry(source.name());
+    if (reproducibleTime != null) {
+      setTime(entry, null);
+    } else if (source.path() != null) {
+      setTime(entry, Files.getLastModifiedTime(source.path()));
+    }
+    if (source.unixMode() != NO_MODE) {
+      entry.setUnixMode(UnixStat.DIR_FLAG | source.unixMode());
+    }
+    out.putArchiveEntry(entry);
+    out.closeArchiveEntry();
+  }
+
+  private static void copyRaw(Step step, ZipFile old, IarIndex next, ZipArchiveOutputStream out)
+      throws IOException {
+    try (var raw = old.getRawInputStream(step.packed())) {
+      out.addRawArchiveEntry(step.packed(), raw);
+    }
+    next.put(step.source().name(), indexEntry(step.attrs(), step.packed().getCrc()));
+  }
+
+  private void writeStreamed(Step step, int method, IarIndex next, ZipArchiveOutputStream out)
+      throws IOException {
+    var entry = new ZipArchiveEntry(step.source().name());
+    entry.setMethod(method);
+    setTime(entry, step.attrs().lastModifiedTime());
+    setFileMode(entry, step.source());
+    out.putArchiveEntry(entry);
+    Files.copy(step.source().path(), out);
+    out.closeArchiveEntry();
+    next.put(step.source().name(), indexEntry(step.attrs(), entry.getCrc()));
+  }
+
+  private int writeCompressed(Step step, Compressed compressed, IarIndex next, ZipArchiveOutputStream out)
+      throws IOException {
+    var entry = new ZipArchiveEntry(step.source().name());
+    entry.setMethod(compressed.method());
+    setTime(entry, step.attrs().lastModifiedTime());
+    setFileMode(entry, step.source());
+    entry.setSize(compressed.size());
+    entry.setCompressedSize(compressed.data().length);
+    entry.setCrc(compressed.crc());
+    out.addRawArchiveEntry(entry, new ByteArrayInputStream(compressed.data()));
+    next.put(step.source().name(), indexEntry(step.attrs(), compressed.crc()));
+    return compressed.method();
+  }
+
+  /**
+   * The time of reproducible entries is stored as is, independent of the time
+   * zone of the build.
+   */
+  private void setTime(ZipArchiveEntry entry, FileTime time) {
+    if (reproducibleTime != null) {
+      entry.setTimeLocal(LocalDateTime.ofInstant(reproducibleTime, ZoneOffset.UTC));
+    } else {
+      entry.setTime(time);
+    }
+  }
+
+  private static void setFileMode(ZipArchiveEntry entry, Source source) {
+    if (source.unixMode() != NO_MODE) {
+      entry.setUnixMode(UnixStat.FILE_FLAG | source.unixMode());
+    }
+  }
+
+  private static IarIndex.Entry indexEntry(BasicFileAttributes attrs, long crc) {
+    return new IarIndex.Entry(attrs.size(), attrs.lastModifiedTime().toMillis(), crc);
+  }
+
+  private enum Mode {
+    DIRECTORY, REUSE, STORE, DEFLATE, DEFLATE_STREAMED
+  }
+
+  private record Step(Source source, Mode mode, BasicFileAttributes attrs, ZipArchiveEntry packed) {}
+
+  private record Scanned(Source source, BasicFileAttributes attrs, IarIndex.Entry known) {}
+
+  private record Source(String name, Path path, int unixMode) {
+
+    boolean isDirectory() {
+      return name.endsWith("/");
+    }
+  }
+}
@@ -35,7 +35,22 @@ public abstract class AbstractIntegrationTestMojo extends AbstractEngineMojo {
   @Parameter(property = "ivy.test.engine", defaultValue = TestEngineLocation.COPY_FROM_CACHE)
   String testEngine;
 
+  /**
+   * Shares one test engine between all integration test modules of a reactor
+   * build. The first module starts the engine, the following modules deploy
+   * into the already running engine and the last module stops it. This saves
+   * an engine start per module, but the tests of all modules run against the
+   * same engine.
+   * @since 14.0.0
+   */
+  @Parameter(property = "ivy.test.engine.pooled", defaultValue = "false")
+  boolean pooledTestEngine;
+
   public final Path getEngineDir(MavenProject project) throws MojoExecutionException {
+    var pool = getTestEnginePool();
+    if (pool != null && pool.isRunning()) {
+      return pool.engineDir();
+    }
     if (engineToTarget()) {
       return getTargetDir(project);
     }
@@ -59,6 +74,14 @@ public abstract class AbstractIntegrationTestMojo extends AbstractEngineMojo {
     return Objects.equals(engineDir.getParent(), engineCacheDirectory);
   }
 
+  /**
+   * @return the engine pool of this build or <code>null</code> if the test
+   *         engine is not pooled
+   */
+  final TestEnginePool getTestEnginePool() {
+    return pooledTestEngine ? TestEnginePool.of(session) : null;
+  }
+
   Path getTargetDir(MavenProject project) {
     return Path.of(project.getBuild().getDirectory()).resolve("ivyEngine");
   }
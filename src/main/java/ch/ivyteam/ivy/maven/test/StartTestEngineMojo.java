@@ -17,20 +17,22 @@
 package ch.ivyteam.ivy.maven.test;
 
 import java.io.IOException;
+import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
 import java.util.List;
-import java.util.stream.Stream;
 
+import org.apache.commons.lang3.Strings;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
 
+import ch.ivyteam.ivy.maven.engine.EngineClassDataSharing;
 import ch.ivyteam.ivy.maven.engine.EngineControl;
 import ch.ivyteam.ivy.maven.engine.EngineMojoContext;
+import ch.ivyteam.ivy.maven.engine.EngineProvisioner;
 import ch.ivyteam.ivy.maven.engine.EngineVmOptions;
 
 /**
@@ -59,6 +61,8 @@ import ch.ivyteam.ivy.maven.engine.EngineVmOptions;
 public class StartTestEngineMojo extends AbstractIntegrationTestMojo {
   public static final String GOAL = "start-test-engine";
   public static final String IVY_ENGINE_START_TIMEOUT_SECONDS = "ivy.engine.start.timeout.seconds";
+  static final String CDS_DIR = ".cds";
+  static final String FLIGHT_RECORDING = "testEngineStart.jfr";
 
   @Parameter(property = "project", required = true, readonly = true)
   public MavenProject project;
@@ -97,6 +101,67 @@ public class StartTestEngineMojo extends AbstractIntegrationTestMojo {
   @Parameter(property = IVY_ENGINE_START_TIMEOUT_SECONDS, defaultValue = "120")
   Integer startTimeoutInSeconds;
 
+  /**
+   * Defines how the engine is provisioned, if it is copied to the target
+   * directory (see {@link #testEngine}).
+   * <ul>
+   * <li><code>COPY</code> = copy all files of the engine.</li>
+   * <li><code>LINK</code> = hard link the immutable parts of the engine
+   * (<code>system/plugins</code>, <code>lib</code>) and copy the rest. Falls
+   * back to copying if the file system does not support hard links.</li>
+   * </ul>
+   * @since 14.0.0
+   */
+  @Parameter(property = "ivy.test.engine.provisioning", defaultValue = EngineProvisioning.COPY)
+  String testEngineProvisioning;
+
+  /**
+   * Number of threads that copy the engine to the target directory (see
+   * {@link #testEngine}). Defaults to the number of available processors.
+   * @since 14.0.0
+   */
+  @Parameter(property = "ivy.test.engine.copy.threads")
+  Integer copyThreads;
+
+  /**
+   * Base url of the engine (e.g. <code>http://localhost:8080/</code>). If set,
+   * the engine start is detected by polling this url with exponential backoff,
+   * instead of waiting for the info page url in the engine log. The time to
+   * the first response and the time until the engine is ready are reported.
+   * @since 14.0.0
+   */
+  @Parameter(property = "ivy.engine.start.readiness.url")
+  URL engineReadinessUrl;
+
+  /**
+   * Set to <code>true</code> to start the engine with a class data sharing
+   * archive (AppCDS). The archive is created when the engine runs the first
+   * time and is stored in the {@link #engineCacheDirectory}. Later starts load
+   * the shared classes from the archive. The archive is re-created as soon as
+   * the engine or the JVM changes.
+   * @since 14.0.0
+   */
+  @Parameter(property = "ivy.engine.start.cds", defaultValue = "false")
+  boolean classDataSharing;
+
+  /**
+   * File where the phases of the engine start (process spawned, first log
+   * line, framework started, webapp deployed, HTTP ready) are written to as
+   * JSON.
+   * @since 14.0.0
+   */
+  @Parameter(property = "ivy.engine.start.timeline", defaultValue = "${project.build.directory}/testEngineStartTimeline.json")
+  Path startTimelineFile;
+
+  /**
+   * Set to <code>true</code> to record the engine start with the Java Flight
+   * Recorder. The recording is written to
+   * <code>target/testEngineStart.jfr</code>.
+   * @since 14.0.0
+   */
+  @Parameter(property = "ivy.engine.start.jfr", defaultValue = "false")
+  boolean flightRecording;
+
   /** Set to <code>true</code> to skip the engine start. */
   @Parameter(property = "maven.test.skip", defaultValue = "false")
   boolean skipTest;
@@ -109,17 +174,48 @@ public class StartTestEngineMojo extends AbstractIntegrationTestMojo {
     }
 
     try {
-      startEngine();
+      var pool = getTestEnginePool();
+      if (pool == null) {
+        startEngine();
+      } else {
+        startPooledEngine(pool);
+      }
     } catch (Exception ex) {
       throw new MojoExecutionException("Cannot start engine", ex);
     }
   }
 
+  private void startPooledEngine(TestEnginePool pool) throws Exception {
+    synchronized (pool) {
+      if (pool.isRunning()) {
+        getLog().info("Using the pooled test engine in " + pool.engineDir());
+        pool.join(project);
+        return;
+      }
+      var engineDir = engineDir();
+      pool.started(engineDir, startEngine(engineDir), project);
+    }
+  }
+
   public Process startEngine() throws Exception {
-    var engineDir = engineDir();
+    return startEngine(engineDir());
+  }
+
+  private Process startEngine(Path engineDir) throws Exception {
     var vmOptions = new EngineVmOptions(additionalClasspath, additionalVmOptions, additionalVmArgs);
     var ctx = new EngineMojoContext(engineDir, project, getLog(), engineLogFile, vmOptions, startTimeoutInSeconds);
     var engineControl = new EngineControl(ctx);
+    if (engineReadinessUrl != null) {
+      engineControl.readinessProbe(engineReadinessUrl.toURI());
+    }
+    if (classDataSharing) {
+      engineControl.classDataSharing(new EngineClassDataSharing(engineCacheDirectory.resolve(CDS_DIR),
+          engineDir, getLog()));
+    }
+    engineControl.startTimeline(startTimelineFile);
+    if (flightRecording) {
+      engineControl.flightRecording(Path.of(project.getBuild().getDirectory()).resolve(FLIGHT_RECORDING));
+    }
     return engineControl.start();
   }
 
@@ -152,16 +248,13 @@ public class StartTestEngineMojo extends AbstractIntegrationTestMojo {
   }
 
   public void copyEngine(Path src, Path dest) throws IOException {
-    try (Stream<Path> walk = Files.walk(src)) {
-      walk.forEach(source -> copyFile(source, dest.resolve(src.relativize(source))));
-    }
+    var link = Strings.CI.equals(testEngineProvisioning, EngineProvisioning.LINK);
+    int threads = copyThreads != null ? copyThreads : Runtime.getRuntime().availableProcessors();
+    new EngineProvisioner(getLog(), link, threads).provision(src, dest);
   }
 
-  private void copyFile(Path source, Path dest) {
-    try {
-      Files.copy(source, dest, StandardCopyOption.COPY_ATTRIBUTES);
-    } catch (Exception ex) {
-      throw new RuntimeException(ex);
-    }
+  interface EngineProvisioning {
+    String COPY = "COPY";
+    String LINK = "LINK";
   }
 }
@@ -82,6 +82,11 @@ public class StopTestEngineMojo extends AbstractIntegrationTestMojo {
       return;
     }
 
+    var pool = getTestEnginePool();
+    if (pool != null && pool.isRunning() && !pool.release()) {
+      getLog().info("Keeping the pooled test engine running for the remaining modules.");
+      return;
+    }
     try {
       createEngineController().stop();
     } catch (Exception ex) {
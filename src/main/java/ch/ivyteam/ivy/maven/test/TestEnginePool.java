@@ -0,0 +1,120 @@
+package ch.ivyteam.ivy.maven.test;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginExecution;
+import org.apache.maven.project.MavenProject;
+
+import ch.ivyteam.ivy.maven.engine.EngineControl;
+
+/**
+ * A test engine that is shared by all integration test modules of a reactor
+ * build (see {@link AbstractIntegrationTestMojo#pooledTestEngine}).
+ *
+ * <p>
+ * The first module starts the engine, later modules deploy into the already
+ * running engine and the last module stops it. An engine that is still
+ * running when the build JVM exits (e.g. because a module failed) is
+ * destroyed.
+ * </p>
+ *
+ * @since 14.0.0
+ */
+class TestEnginePool {
+
+  static final String INTEGRATION_TEST_PACKAGING = "iar-integration-test";
+  private static final String SESSION_KEY = TestEnginePool.class.getName();
+
+  private final int modules;
+  private int stoppedModules = 0;
+  private Path engineDir;
+  private Process process;
+  private final Map<String, String> properties = new HashMap<>();
+
+  private TestEnginePool(int modules) {
+    this.modules = modules;
+  }
+
+  /**
+   * @return the pool of the session or <code>null</code> if the session can
+   *         not hold one.
+   */
+  static TestEnginePool of(MavenSession session) {
+    if (session == null || session.getRepositorySession() == null) {
+      return null;
+    }
+    var data = session.getRepositorySession().getData();
+    var pool = data.computeIfAbsent(SESSION_KEY, () -> new TestEnginePool(countModules(session.getProjects())));
+    return pool instanceof TestEnginePool enginePool ? enginePool : null;
+  }
+
+  static int countModules(List<MavenProject> projects) {
+    if (projects == null) {
+      return 1;
+    }
+    var modules = (int) projects.stream().filter(TestEnginePool::usesTestEngine).count();
+    return Math.max(modules, 1);
+  }
+
+  private static boolean usesTestEngine(MavenProject project) {
+    if (INTEGRATION_TEST_PACKAGING.equals(project.getPackaging())) {
+      return true;
+    }
+    return project.getBuildPlugins().stream()
+        .filter(plugin -> "project-build-plugin".equals(plugin.getArtifactId()))
+        .map(Plugin::getExecutions)
+        .flatMap(List::stream)
+        .map(PluginExecution::getGoals)
+        .flatMap(List::stream)
+        .anyMatch(StopTestEngineMojo.GOAL::equals);
+  }
+
+  synchronized boolean isRunning() {
+    return process != null && process.isAlive();
+  }
+
+  synchronized Path engineDir() {
+    return engineDir;
+  }
+
+  synchronized void started(Path startedEngineDir, Process startedProcess, MavenProject project) {
+    this.engineDir = startedEngineDir;
+    this.process = startedProcess;
+    share(project, EngineControl.Property.TEST_ENGINE_URL);
+    share(project, EngineControl.Property.TEST_ENGINE_LOG);
+    Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+      if (startedProcess.isAlive()) {
+        startedProcess.destroy();
+      }
+    }, "test-engine-pool-shutdown"));
+  }
+
+  private void share(MavenProject project, String key) {
+    var value = project.getProperties().getProperty(key);
+    if (value != null) {
+      properties.put(key, value);
+    }
+  }
+
+  /**
+   * Provides the properties of the running engine (e.g.
+   * {@link EngineControl.Property#TEST_ENGINE_URL}) to the given project.
+   */
+  synchronized void join(MavenProject project) {
+    properties.forEach(project.getProperties()::setProperty);
+  }
+
+  /**
+   * @return <code>true</code> if the calling module is the last one that uses
+   *         the engine, so it must be stopped now.
+   */
+  synchronized boolean release() {
+    stoppedModules++;
+    return stoppedModules >= modules;
+  }
+}
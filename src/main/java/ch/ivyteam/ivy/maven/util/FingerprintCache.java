@@ -0,0 +1,137 @@
+package ch.ivyteam.ivy.maven.util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Remembers the files that were generated from an input file, together with
+ * the hash of the input they were generated from. An input whose hash did not
+ * change since the last build does not need to be generated again, as long
+ * as its outputs still exist.
+ *
+ * <p>
+ * The cache is only valid for the generator it was written by. If the
+ * generator changes, all inputs are considered changed, but the outputs of
+ * the last build are still reported if they became obsolete.
+ * </p>
+ *
+ * @since 14.0.0
+ */
+public class FingerprintCache {
+
+  private static final String HEADER = "# fingerprint cache 1";
+  private static final String SEPARATOR = "\t";
+
+  private final Path cacheFile;
+  private final String generator;
+  private final Map<String, Fingerprint> fingerprints = new HashMap<>();
+  private final Set<String> loadedOutputs = new TreeSet<>();
+
+  private record Fingerprint(String hash, List<String> outputs) {}
+
+  private FingerprintCache(Path cacheFile, String generator) {
+    this.cacheFile = cacheFile;
+    this.generator = generator;
+  }
+
+  /**
+   * @param generator identifies the generator, e.g. its version
+   * @return the stored cache, or an empty cache if there is none. A cache
+   *         written by another generator only knows the outputs of the last
+   *         build.
+   */
+  public static FingerprintCache load(Path cacheFile, String generator) {
+    var cache = new FingerprintCache(cacheFile, generator);
+    if (!Files.isRegularFile(cacheFile)) {
+      return cache;
+    }
+    try (var lines = Files.lines(cacheFile, StandardCharsets.UTF_8)) {
+      var it = lines.iterator();
+      if (!it.hasNext() || !HEADER.equals(it.next()) || !it.hasNext()) {
+        return cache;
+      }
+      var sameGenerator = it.next().equals("generator" + SEPARATOR + generator);
+      while (it.hasNext()) {
+        var fields = it.next().split(SEPARATOR);
+        var outputs = List.copyOf(Arrays.asList(fields).subList(2, fields.length));
+        if (sameGenerator) {
+          cache.fingerprints.put(fields[0], new Fingerprint(fields[1], outputs));
+        }
+        cache.loadedOutputs.addAll(outputs); // still cleaned up if obsolete
+      }
+      return cache;
+    } catch (IOException | RuntimeException ex) {
+      return new FingerprintCache(cacheFile, generator);
+    }
+  }
+
+  /**
+   * @param input path of the input, relative to the <code>baseDir</code>
+   * @param hash current hash of the input
+   * @return <code>true</code> if the input was generated from the same hash
+   *         and all its outputs still exist
+   */
+  public boolean isUpToDate(String input, String hash, Path baseDir) {
+    var fingerprint = fingerprints.get(input);
+    if (fingerprint == null || !fingerprint.hash().equals(hash)) {
+      return false;
+    }
+    return fingerprint.outputs().stream()
+        .allMatch(output -> Files.exists(baseDir.resolve(output)));
+  }
+
+  /**
+   * @param outputs paths of the generated files, relative to the base
+   *          directory
+   */
+  public void put(String input, String hash, List<String> outputs) {
+    fingerprints.put(input, new Fingerprint(hash, List.copyOf(outputs)));
+  }
+
+  /**
+   * Forgets all inputs that no longer exist.
+   *
+   * @param inputs all current inputs
+   * @return outputs of the last build that are no longer generated from any
+   *         input, because their input was deleted or generates other files now
+   */
+  public List<String> obsoleteOutputs(Set<String> inputs) {
+    fingerprints.keySet().retainAll(inputs);
+    var obsolete = new TreeSet<>(loadedOutputs);
+    fingerprints.values().forEach(fingerprint -> obsolete.removeAll(fingerprint.outputs()));
+    return List.copyOf(obsolete);
+  }
+
+  /**
+   * Replaces the stored cache atomically, an interrupted build never leaves a
+   * truncated cache that would forget the outputs of the last build.
+   */
+  public void store() throws IOException {
+    var content = new StringBuilder(HEADER).append('\n')
+        .append("generator").append(SEPARATOR).append(generator).append('\n');
+    for (var input : new TreeSet<>(fingerprints.keySet())) {
+      var fingerprint = fingerprints.get(input);
+      content.append(input).append(SEPARATOR).append(fingerprint.hash());
+      fingerprint.outputs().forEach(output -> content.append(SEPARATOR).append(output));
+      content.append('\n');
+    }
+    var dir = cacheFile.toAbsolutePath().getParent();
+    Files.createDirectories(dir);
+    var tmp = Files.createTempFile(dir, cacheFile.getFileName().toString(), ".tmp");
+    try {
+      Files.writeString(tmp, content, StandardCharsets.UTF_8);
+      Files.move(tmp, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(tmp);
+    }
+  }
+}
@@ -0,0 +1,129 @@
+package ch.ivyteam.ivy.maven.util;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * Copies a directory tree with a pool of workers.
+ *
+ * <p>
+ * The directory skeleton is created first. Then the files are copied on a
+ * work-stealing pool, the largest files first. Large files are transferred
+ * with {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)}.
+ * </p>
+ *
+ * @since 14.0.0
+ */
+public class ParallelFileCopier {
+
+  static final long LARGE_FILE_SIZE = 8 * 1024 * 1024;
+
+  private final int threads;
+
+  public ParallelFileCopier(int threads) {
+    this.threads = threads;
+  }
+
+  public void copy(Path src, Path dest) throws IOException {
+    copy(src, dest, (source, target, _) -> copyFile(source, target));
+  }
+
+  /**
+   * @param fileCopy copies a single file, it is called concurrently
+   */
+  public void copy(Path src, Path dest, FileCopy fileCopy) throws IOException {
+    var dirs = new ArrayList<Path>();
+    var files = new ArrayList<SourceFile>();
+    try (Stream<Path> walk = Files.walk(src)) {
+      for (var source : walk.toList()) {
+        var attrs = Files.readAttributes(source, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+        if (attrs.isDirectory()) {
+          dirs.add(source);
+        } else {
+          files.add(new SourceFile(source, attrs.size()));
+        }
+      }
+    }
+    for (var dir : dirs) { // walked top down: parents are created first
+      Files.copy(dir, dest.resolve(src.relativize(dir)), StandardCopyOption.COPY_ATTRIBUTES);
+    }
+    files.sort(Comparator.comparingLong(SourceFile::size).reversed());
+    copyFiles(src, dest, files, fileCopy);
+  }
+
+  private void copyFiles(Path src, Path dest, List<SourceFile> files, FileCopy fileCopy) throws IOException {
+    var pool = new ForkJoinPool(threads);
+    try {
+      var tasks = new ArrayList<Future<?>>();
+      for (var file : files) {
+        var source = file.path();
+        var relative = src.relativize(source);
+        tasks.add(pool.submit(() -> {
+          fileCopy.copy(source, dest.resolve(relative), relative);
+          return null;
+        }));
+      }
+      for (var task : tasks) {
+        task.get();
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Copy of " + src + " interrupted", ex);
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof IOException ioEx) {
+        throw ioEx;
+      }
+      throw new IOException("Copy of " + src + " failed", ex.getCause());
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  /**
+   * Copies a file including its attributes. Large files are transferred
+   * channel to channel.
+   */
+  public static void copyFile(Path source, Path dest) throws IOException {
+    if (Files.isSymbolicLink(source) || Files.size(source) < LARGE_FILE_SIZE) {
+      Files.copy(source, dest, StandardCopyOption.COPY_ATTRIBUTES, LinkOption.NOFOLLOW_LINKS);
+      return;
+    }
+    try (var in = FileChannel.open(source, StandardOpenOption.READ);
+        var out = FileChannel.open(dest, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+      long size = in.size();
+      long position = 0;
+      while (position < size) {
+        position += in.transferTo(position, size - position, out);
+      }
+    }
+    copyAttributes(source, dest);
+  }
+
+  private static void copyAttributes(Path source, Path dest) throws IOException {
+    var posix = Files.getFileAttributeView(source, PosixFileAttributeView.class);
+    if (posix != null) {
+      Files.setPosixFilePermissions(dest, posix.readAttributes().permissions());
+    }
+    Files.setLastModifiedTime(dest, Files.getLastModifiedTime(source));
+  }
+
+  private record SourceFile(Path path, long size) {}
+
+  public interface FileCopy {
+    void copy(Path source, Path dest, Path relative) throws IOException;
+  }
+}
@@ -0,0 +1,264 @@
+package ch.ivyteam.ivy.maven.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Strings;
+import org.apache.maven.execution.MavenSession;
+import org.codehaus.plexus.util.SelectorUtils;
+
+/**
+ * Index of the files of a project, shared by all mojos of the
+ * {@link MavenSession} that look up project files by ANT-style include
+ * patterns, instead of scanning the project directory each on its own.
+ *
+ * <p>
+ * Only the subtrees that the include patterns can match are walked, e.g.
+ * <code>dataclass</code> for <code>dataclass/**&#47;*.d.json</code>. Each subtree
+ * is walked once, with a single {@link Files#walkFileTree}, and then served
+ * from memory as long as the modification times of its directories did not
+ * change. Like that files that are created or deleted by other plugins or by
+ * the engine are seen by later lookups. Directories that were modified within
+ * the {@link #TIMESTAMP_RESOLUTION} before the walk may change again without a
+ * new modification time, their children are counted as well. Writers that know
+ * what they changed should still {@link #invalidate(Path) announce} it.
+ * </p>
+ *
+ * @since 14.0.0
+ */
+public class ProjectFileIndex {
+
+  private static final String SESSION_KEY = ProjectFileIndex.class.getName();
+
+  /**
+   * Coarsest modification time resolution of the supported file systems, e.g.
+   * FAT.
+   */
+  static final Duration TIMESTAMP_RESOLUTION = Duration.ofSeconds(2);
+
+  private final Path baseDir;
+  private final Map<String, Subtree> subtrees = new ConcurrentHashMap<>();
+
+  ProjectFileIndex(Path baseDir) {
+    this.baseDir = baseDir;
+  }
+
+  /**
+   * @return the index shared by all mojos of the session that work on the
+   *         same project. Without a session a new index is returned, which is
+   *         only used by the calling mojo. Lookups revalidate the walked
+   *         subtrees by the modification times of their directories, mojos
+   *         that create or delete project files should nevertheless
+   *         {@link #invalidate(Path)} them.
+   */
+  public static ProjectFileIndex of(MavenSession session, Path baseDir) {
+    if (session == null || session.getRepositorySession() == null) {
+      return new ProjectFileIndex(baseDir);
+    }
+    var data = session.getRepositorySession().getData();
+    var key = SESSION_KEY + ":" + baseDir.toAbsolutePath().normalize();
+    if (data.computeIfAbsent(key, () -> new ProjectFileIndex(baseDir)) instanceof ProjectFileIndex index) {
+      return index;
+    }
+    return new ProjectFileIndex(baseDir); // stored by another version of this plugin
+  }
+
+  /**
+   * @return the files that match any of the includes, relative to the
+   *         project directory, in alphabetical order
+   */
+  public List<Path> files(String... includes) {
+    return find(includes, false);
+  }
+
+  /**
+   * @return the directories that match any of the includes, relative to the
+   *         project directory, in alphabetical order
+   */
+  public List<Path> directories(String... includes) {
+    return find(includes, true);
+  }
+
+  /**
+   * Forgets the indexed subtree that contains the given path, it is walked
+   * again on the next lookup.
+   *
+   * @param relativePath path relative to the project directory that was
+   *          created or deleted
+   */
+  public void invalidate(Path relativePath) {
+    var path = toName(relativePath);
+    subtrees.keySet().removeIf(root -> root.isEmpty() || path.equals(root)
+        || path.startsWith(root + "/") || root.startsWith(path + "/"));
+  }
+
+  private List<Path> find(String[] includes, boolean directories) {
+    var found = new TreeSet<String>();
+    for (var include : includes) {
+      var pattern = normalize(include);
+      for (var entry : subtree(root(pattern))) {
+        if (entry.directory() == directories && SelectorUtils.matchPath(pattern, entry.name(), "/", true)) {
+          found.add(entry.name());
+        }
+      }
+    }
+    return found.stream()
+        .map(Path::of)
+        .toList();
+  }
+
+  /**
+   * @return the leading path segments of the pattern without wildcards
+   */
+  static String root(String pattern) {
+    var segments = StringUtils.split(pattern, '/');
+    var root = new ArrayList<String>();
+    for (int i = 0; i < segments.length - 1; i++) {
+      if (StringUtils.containsAny(segments[i], '*', '?')) {
+        break;
+      }
+      root.add(segments[i]);
+    }
+    return String.join("/", root);
+  }
+
+  private static String normalize(String include) {
+    var pattern = include.replace('\\', '/');
+    if (pattern.endsWith("/")) {
+      pattern += "**"; // like the DirectoryScanner
+    }
+    return Strings.CS.removeStart(pattern, "/");
+  }
+
+  private List<Entry> subtree(String root) {
+    for (var known : subtrees.entrySet()) { // served by an already walked parent
+      if (known.getKey().isEmpty() || root.equals(known.getKey()) || root.startsWith(known.getKey() + "/")) {
+        if (known.getValue().isCurrent()) {
+          return known.getValue().entries();
+        }
+        subtrees.remove(known.getKey(), known.getValue());
+      }
+    }
+    return subtrees.compute(root, (_, known) -> known != null && known.isCurrent() ? known : walk(root))
+        .entries();
+  }
+
+  private Subtree walk(String root) {
+    var start = baseDir.resolve(root);
+    var entries = new ArrayList<Entry>();
+    var modified = new HashMap<Path, FileTime>();
+    var children = new HashMap<Path, Integer>();
+    if (!Files.isDirectory(start)) {
+      return new Subtree(start, entries, Map.of());
+    }
+    var racy = Instant.now().minus(TIMESTAMP_RESOLUTION);
+    try {
+      Files.walkFileTree(start, EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE,
+          new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+              count(dir);
+              modified.put(dir, attrs.lastModifiedTime());
+              children.put(dir, 0);
+              var name = toName(baseDir.relativize(dir));
+              if (!name.isEmpty()) {
+                entries.add(new Entry(name, true));
+              }
+              return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+              count(file);
+              if (!attrs.isDirectory()) {
+                entries.add(new Entry(toName(baseDir.relativize(file)), false));
+              }
+              return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException ex) {
+              count(file);
+              return FileVisitResult.CONTINUE; // e.g. a broken link, ignored like by the DirectoryScanner
+            }
+
+            private void count(Path child) {
+              children.computeIfPresent(child.getParent(), (_, count) -> count + 1);
+            }
+          });
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Failed to index " + start, ex);
+    }
+    var directories = new HashMap<Path, Directory>();
+    modified.forEach((dir, time) -> directories.put(dir,
+        new Directory(time, time.toInstant().isAfter(racy) ? children.get(dir) : Directory.NOT_COUNTED)));
+    return new Subtree(start, entries, directories);
+  }
+
+  private static String toName(Path relativePath) {
+    return relativePath.toString().replace('\\', '/');
+  }
+
+  private record Entry(String name, boolean directory) {}
+
+  /**
+   * @param modified changes when a direct child is created, deleted or renamed
+   * @param children number of direct children, only counted if the
+   *          modification time may not reflect later changes
+   */
+  private record Directory(FileTime modified, int children) {
+
+    static final int NOT_COUNTED = -1;
+
+    boolean isCurrent(Path dir) throws IOException {
+      if (!Files.getLastModifiedTime(dir).equals(modified)) {
+        return false;
+      }
+      if (children == NOT_COUNTED) {
+        return true;
+      }
+      try (var list = Files.list(dir)) {
+        return list.count() == children;
+      }
+    }
+  }
+
+  /**
+   * @param directories the walked directories
+   */
+  private record Subtree(Path root, List<Entry> entries, Map<Path, Directory> directories) {
+
+    boolean isCurrent() {
+      if (directories.isEmpty()) {
+        return !Files.isDirectory(root);
+      }
+      for (var directory : directories.entrySet()) {
+        try {
+          if (!directory.getValue().isCurrent(directory.getKey())) {
+            return false;
+          }
+        } catch (IOException ex) {
+          return false; // deleted
+        }
+      }
+      return true;
+    }
+  }
+}
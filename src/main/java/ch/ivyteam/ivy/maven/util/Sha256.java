@@ -0,0 +1,59 @@
+package ch.ivyteam.ivy.maven.util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * SHA-256 checksums, as lower case hex strings.
+ *
+ * @since 14.0.0
+ */
+public interface Sha256 {
+
+  /**
+   * @return checksum of the file content
+   */
+  static String of(Path file) throws IOException {
+    var digest = digest();
+    try (var in = Files.newInputStream(file)) {
+      var buffer = new byte[64 * 1024];
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        digest.update(buffer, 0, read);
+      }
+    }
+    return toHex(digest);
+  }
+
+  /**
+   * @return checksum of the UTF-8 encoded text
+   */
+  static String of(String text) {
+    var digest = digest();
+    digest.update(text.getBytes(StandardCharsets.UTF_8));
+    return toHex(digest);
+  }
+
+  /**
+   * @return a new digest, to checksum data that is produced piece by piece
+   */
+  static MessageDigest digest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  /**
+   * @return checksum of all data the digest was updated with
+   */
+  static String toHex(MessageDigest digest) {
+    return HexFormat.of().formatHex(digest.digest());
+  }
+}
@@ -17,6 +17,7 @@
 package ch.ivyteam.ivy.maven;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -24,6 +25,8 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
 import java.util.Random;
@@ -34,6 +37,7 @@ import org.apache.maven.api.di.Provides;
 import org.apache.maven.api.plugin.testing.InjectMojo;
 import org.apache.maven.api.plugin.testing.MojoTest;
 import org.apache.maven.model.FileSet;
+import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.project.MavenProject;
 import org.codehaus.plexus.util.MatchPattern;
 import org.codehaus.plexus.util.StringUtils;
@@ -352,6 +356,49 @@ class TestIarPackagingMojo {
     }
   }
 
+  @Test
+  void reproducibleIar() throws Exception {
+    mojo.outputTimestamp = "2024-05-01T10:00:00Z";
+    mojo.execute();
+    var iar = mojo.project.getArtifact().getFile().toPath();
+    var first = Files.readAllBytes(iar);
+
+    Files.delete(iar);
+    var pom = mojo.project.getBasedir().toPath().resolve("pom.xml");
+    Files.setLastModifiedTime(pom, FileTime.fromMillis(1_000_000));
+    mojo.execute();
+    assertThat(iar).hasBinaryContent(first);
+  }
+
+  @Test
+  void incrementalIar() throws Exception {
+    mojo.execute();
+    var iar = mojo.project.getArtifact().getFile().toPath();
+    var index = mojo.project.getBasedir().toPath().resolve("target").resolve(iar.getFileName() + ".index");
+    assertThat(index).as("packed by the ZipArchiver by default").doesNotExist();
+
+    mojo.incremental = true;
+    mojo.execute();
+    assertThat(index).exists();
+    try (var archive = new ZipFile(iar.toFile())) {
+      assertThat(getProjectZipFileEntry(archive, "pom.xml")).isNotNull();
+      assertThat(getProjectZipFileEntry(archive, "classes/gugus.txt")).isNotNull();
+    }
+  }
+
+  @Test
+  void reproducibleTime() throws Exception {
+    assertThat(mojo.reproducibleTime()).isNull();
+    mojo.reproducible = true;
+    assertThat(mojo.reproducibleTime()).isEqualTo(IarPackagingMojo.Defaults.REPRODUCIBLE_TIME);
+    mojo.outputTimestamp = "1714557600";
+    assertThat(mojo.reproducibleTime()).isEqualTo(Instant.parse("2024-05-01T10:00:00Z"));
+    mojo.outputTimestamp = "2024-05-01T12:00:00+02:00";
+    assertThat(mojo.reproducibleTime()).isEqualTo(Instant.parse("2024-05-01T10:00:00Z"));
+    mojo.outputTimestamp = "yesterday";
+    assertThatThrownBy(mojo::reproducibleTime).isInstanceOf(MojoExecutionException.class);
+  }
+
   static ZipEntry getProjectZipFileEntry(ZipFile archive, String fileName) {
     return archive.getEntry(IarPackagingMojo.Defaults.PREFIX + fileName);
   }
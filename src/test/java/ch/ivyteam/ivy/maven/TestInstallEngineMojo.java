@@ -41,9 +41,11 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockserver.integration.ClientAndServer;
+import org.mockserver.matchers.Times;
 import org.mockserver.model.HttpResponse;
 import org.mockserver.model.MediaType;
 
+import ch.ivyteam.ivy.maven.engine.EngineCacheIndex;
 import ch.ivyteam.ivy.maven.engine.EngineClassLoaderFactory.OsgiDir;
 import ch.ivyteam.ivy.maven.engine.EngineVersionEvaluator;
 import ch.ivyteam.ivy.maven.engine.download.URLEngineDownloader;
@@ -108,6 +110,22 @@ class TestInstallEngineMojo {
         .isEqualTo(mojo.getRawEngineDirectory());
   }
 
+  @Test
+  void testEngineDownload_cacheDirectoryStagedAndLocked() throws Exception {
+    mockZipResponse(createFakeEngineZip(DEFAULT_VERSION));
+    mojo.engineCacheDirectory = Files.createTempDirectory("tmpRepo");
+    mojo.engineDownloadUrl = mockEngineZip();
+
+    mojo.execute();
+
+    try (var files = Files.list(mojo.engineCacheDirectory)) {
+      assertThat(files.map(file -> file.getFileName().toString()))
+          .as("no staging directories are left behind")
+          .containsExactlyInAnyOrder(DEFAULT_VERSION, "." + DEFAULT_VERSION + ".lock", EngineCacheIndex.FILE_NAME);
+    }
+    assertThat(mojo.getRawEngineDirectory().resolve(getFakeLibraryPath(DEFAULT_VERSION))).exists();
+  }
+
   private void mockZipResponse(Path zip) throws IOException {
     var bos = toBytes(zip);
     mock.when(request())
@@ -198,6 +216,34 @@ class TestInstallEngineMojo {
     assertThat(mojo.engineDirectory).isNotEmptyDirectory();
   }
 
+  @Test
+  void testEngineDownload_streaming() throws Exception {
+    mojo.engineDirectory = createTempDir("tmpEngine");
+    mojo.autoInstallEngine = true;
+    mojo.streamingInstall = true;
+    mockZipResponse(createFakeEngineZip(mojo.ivyVersion));
+    mojo.engineDownloadUrl = mockEngineZip();
+
+    mojo.execute();
+    assertThat(mojo.engineDirectory.resolve(getFakeLibraryPath(DEFAULT_VERSION))).exists();
+  }
+
+  @Test
+  void testEngineDownload_streamingFallbackKeepsForeignFiles() throws Exception {
+    mojo.engineDirectory = createTempDir("tmpEngine");
+    var foreign = Files.writeString(mojo.engineDirectory.resolve("keep.txt"), "not part of the engine");
+    mojo.autoInstallEngine = true;
+    mojo.streamingInstall = true;
+    mock.when(request(), Times.once())
+        .respond(HttpResponse.response().withStatusCode(500));
+    mockZipResponse(createFakeEngineZip(mojo.ivyVersion));
+    mojo.engineDownloadUrl = mockEngineZip();
+
+    mojo.execute();
+    assertThat(mojo.engineDirectory.resolve(getFakeLibraryPath(DEFAULT_VERSION))).exists();
+    assertThat(foreign).hasContent("not part of the engine");
+  }
+
   @Test
   void testEngineDownload_skipNonOsgiEngineInCache() throws Exception {
     mojo.engineDirectory = null;
@@ -54,6 +54,7 @@ class TestDeployToRunningEngine {
 
   StartTestEngineMojo mojo;
   DeployToEngineMojo deployMojo;
+  MavenSession session;
 
   @BeforeEach
   @InjectMojo(goal = InstallEngineMojo.GOAL)
@@ -75,7 +76,7 @@ class TestDeployToRunningEngine {
 
   @Provides
   MavenSession provideSession() {
-    var session = Mockito.mock(MavenSession.class);
+    session = Mockito.mock(MavenSession.class);
     System.out.println(session);
     Mockito.lenient().when(session.getUserProperties()).thenReturn(new Properties());
     Mockito.lenient().when(session.getSystemProperties()).thenReturn(new Properties());
@@ -141,7 +142,7 @@ class TestDeployToRunningEngine {
     server.setId("test.server");
     server.setUsername("admin");
     server.setPassword(password);
-    deployMojo.session.getSettings().addServer(server);
+    session.getSettings().addServer(server);
     deployMojo.deployServerId = "test.server";
   }
 
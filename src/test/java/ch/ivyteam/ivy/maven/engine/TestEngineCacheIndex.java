@@ -0,0 +1,79 @@
+package ch.ivyteam.ivy.maven.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ch.ivyteam.ivy.maven.engine.EngineClassLoaderFactory.OsgiDir;
+import ch.ivyteam.ivy.maven.log.LogCollector;
+import ch.ivyteam.ivy.maven.util.PathUtils;
+
+class TestEngineCacheIndex {
+
+  @TempDir
+  Path cacheDir;
+
+  @Test
+  void engines_evaluatedAndPersisted() throws IOException {
+    var engine = fakeEngine("14.0.0", "14.0.0.51869");
+    Files.createDirectories(cacheDir.resolve("noEngine"));
+
+    var engines = new EngineCacheIndex(cacheDir, new LogCollector()).engines();
+
+    assertThat(engines).containsOnlyKeys(engine);
+    assertThat(engines.get(engine).toString()).isEqualTo("14.0.0");
+    assertThat(cacheDir.resolve(EngineCacheIndex.FILE_NAME)).exists();
+  }
+
+  @Test
+  void engines_indexUsedWhilePluginsUnchanged() throws IOException {
+    var engine = fakeEngine("14.0.0", "14.0.0.51869");
+    new EngineCacheIndex(cacheDir, new LogCollector()).engines();
+
+    var plugins = engine.resolve(OsgiDir.PLUGINS);
+    var modified = Files.getLastModifiedTime(plugins);
+    Files.delete(plugins.resolve(EngineVersionEvaluator.LIBRARY_ID + "_14.0.0.51869.jar"));
+    Files.setLastModifiedTime(plugins, modified);
+    assertThat(new EngineCacheIndex(cacheDir, new LogCollector()).engines()).containsKey(engine);
+
+    Files.setLastModifiedTime(plugins, FileTime.fromMillis(modified.toMillis() + 1000));
+    assertThat(new EngineCacheIndex(cacheDir, new LogCollector()).engines()).isEmpty();
+  }
+
+  @Test
+  void register() throws IOException {
+    var engine = fakeEngine("14.0.0", "14.0.0.51869");
+    new EngineCacheIndex(cacheDir, new LogCollector()).register(engine, new DefaultArtifactVersion("14.0.0"),
+        "Slim_All_x64");
+
+    var entry = new EngineCacheIndex(cacheDir, new LogCollector()).get(engine);
+    assertThat(entry.version().toString()).isEqualTo("14.0.0");
+    assertThat(entry.arch()).isEqualTo("Slim_All_x64");
+    assertThat(entry.installed()).isPositive();
+  }
+
+  @Test
+  void engines_removedDirectoryDropped() throws IOException {
+    var engine = fakeEngine("14.0.0", "14.0.0.51869");
+    new EngineCacheIndex(cacheDir, new LogCollector()).engines();
+    PathUtils.delete(engine);
+
+    var index = new EngineCacheIndex(cacheDir, new LogCollector());
+    assertThat(index.engines()).isEmpty();
+    assertThat(index.get(engine)).isNull();
+  }
+
+  private Path fakeEngine(String dirName, String version) throws IOException {
+    var engine = cacheDir.resolve(dirName);
+    var plugins = Files.createDirectories(engine.resolve(OsgiDir.PLUGINS));
+    Files.createFile(plugins.resolve(EngineVersionEvaluator.LIBRARY_ID + "_" + version + ".jar"));
+    return engine;
+  }
+}
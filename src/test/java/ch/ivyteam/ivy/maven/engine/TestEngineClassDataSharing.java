@@ -0,0 +1,104 @@
+package ch.ivyteam.ivy.maven.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ch.ivyteam.ivy.maven.engine.EngineClassLoaderFactory.OsgiDir;
+import ch.ivyteam.ivy.maven.log.LogCollector;
+import ch.ivyteam.ivy.maven.util.PathUtils;
+
+class TestEngineClassDataSharing {
+
+  @TempDir
+  Path tempDir;
+
+  private Path engine;
+  private Path bootJar;
+  private Path archiveDir;
+  private LogCollector log;
+
+  @BeforeEach
+  void createEngine() throws IOException {
+    engine = tempDir.resolve("engine");
+    archiveDir = tempDir.resolve("cache/.cds");
+    bootJar = engine.resolve(OsgiDir.INSTALL_AREA).resolve(OsgiDir.LIB_BOOT).resolve("org.eclipse.osgi.jar");
+    Files.createDirectories(bootJar.getParent());
+    Files.writeString(bootJar, "osgi");
+    log = new LogCollector();
+  }
+
+  @Test
+  void prepare() throws IOException {
+    var archive = new EngineClassDataSharing(archiveDir, engine, log).prepare();
+
+    assertThat(archive.file().getParent()).isEqualTo(archiveDir);
+    assertThat(archive.file()).doesNotExist();
+    assertThat(archive.classpathJar()).exists();
+    assertThat(archive.vmArgs()).containsExactly("-XX:+AutoCreateSharedArchive",
+        "-XX:SharedArchiveFile=" + archive.file().toAbsolutePath());
+    assertThat(log.getInfos().toString()).contains("Creating class data sharing archive");
+
+    Files.writeString(archive.file(), "archive");
+    var reused = new EngineClassDataSharing(archiveDir, engine, log).prepare();
+    assertThat(reused).isEqualTo(archive);
+    assertThat(log.getInfos().toString()).contains("Using class data sharing archive");
+  }
+
+  @Test
+  void invalidateOnEngineChange() throws IOException {
+    var cds = new EngineClassDataSharing(archiveDir, engine, log);
+    var archive = cds.prepare();
+    Files.writeString(archive.file(), "archive");
+
+    Files.writeString(bootJar, "osgi update");
+    var changed = cds.prepare();
+
+    assertThat(changed.file()).isNotEqualTo(archive.file()).doesNotExist();
+    assertThat(archive.file()).doesNotExist();
+    assertThat(archive.classpathJar()).doesNotExist();
+  }
+
+  @Test
+  void archivesPerEngine() throws IOException {
+    var other = tempDir.resolve("other");
+    Files.createDirectories(other.resolve(OsgiDir.INSTALL_AREA).resolve(OsgiDir.LIB_BOOT));
+    var archive = new EngineClassDataSharing(archiveDir, engine, log).prepare();
+    var otherArchive = new EngineClassDataSharing(archiveDir, other, log).prepare();
+
+    assertThat(otherArchive.file()).isNotEqualTo(archive.file());
+    assertThat(archive.classpathJar()).exists();
+  }
+
+  @Test
+  void reuseAcrossProvisionedEngines() throws Exception {
+    var target = tempDir.resolve("project/target/ivyEngine");
+    Files.createDirectories(target.getParent());
+    new EngineProvisioner(log, false, 2).provision(engine, target);
+    var archive = new EngineClassDataSharing(archiveDir, target, log).prepare();
+    Files.writeString(archive.file(), "archive");
+
+    PathUtils.delete(target); // mvn clean
+    new EngineProvisioner(log, false, 2).provision(engine, target);
+    log = new LogCollector();
+    var reused = new EngineClassDataSharing(archiveDir, target, log).prepare();
+
+    assertThat(reused).isEqualTo(archive);
+    assertThat(reused.file()).exists();
+    assertThat(log.getInfos().toString()).contains("Using class data sharing archive");
+    try (var jar = new JarFile(reused.classpathJar().toFile())) {
+      assertThat(jar.getManifest().getMainAttributes().getValue(Attributes.Name.CLASS_PATH))
+          .as("bootstrap jars of the started engine, not of the cached one")
+          .contains(target.toUri().toString())
+          .doesNotContain(bootJar.toUri().toString());
+    }
+  }
+}
@@ -0,0 +1,41 @@
+package ch.ivyteam.ivy.maven.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ch.ivyteam.ivy.maven.log.LogCollector;
+
+class TestEngineInstallLock {
+
+  @TempDir
+  Path cacheDir;
+
+  @Test
+  void concurrentInstallWaits() throws Exception {
+    var engineDir = cacheDir.resolve("14.0.0");
+    var log = new LogCollector();
+    var acquired = new CountDownLatch(1);
+
+    try (var executor = Executors.newSingleThreadExecutor()) {
+      try (var _ = EngineInstallLock.acquire(engineDir, log)) {
+        executor.submit(() -> {
+          try (var _ = EngineInstallLock.acquire(engineDir, log)) {
+            acquired.countDown();
+          }
+          return null;
+        });
+        assertThat(acquired.await(200, TimeUnit.MILLISECONDS)).isFalse();
+      }
+      assertThat(acquired.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+    assertThat(EngineInstallLock.lockFile(engineDir)).exists().hasFileName(".14.0.0.lock");
+    assertThat(log.getInfos()).isNotEmpty();
+  }
+}
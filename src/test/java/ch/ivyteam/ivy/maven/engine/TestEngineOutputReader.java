@@ -0,0 +1,63 @@
+package ch.ivyteam.ivy.maven.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TestEngineOutputReader {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void stream_endsWithOutput() throws Exception {
+    var lines = new CopyOnWriteArrayList<String>();
+    var in = new ByteArrayInputStream("first\nsecond\n".getBytes(StandardCharsets.UTF_8));
+
+    var reader = new EngineOutputReader(in, null, line -> !lines.add(line));
+    reader.start();
+    reader.join(5_000);
+
+    assertThat(reader.isAlive()).isFalse();
+    assertThat(lines).containsExactly("first", "second");
+  }
+
+  @Test
+  void tail_waitsForAppendedLines() throws Exception {
+    var log = Files.createFile(tempDir.resolve("engine.log"));
+    Files.writeString(log, "booting\n");
+    List<String> lines = new CopyOnWriteArrayList<>();
+
+    var reader = EngineOutputReader.tail(log, line -> lines.add(line) && line.contains("started"));
+    reader.start();
+    Thread.sleep(300);
+    assertThat(reader.isAlive()).as("waits at the end of the file").isTrue();
+
+    Files.writeString(log, "engine started\n", StandardOpenOption.APPEND);
+    reader.join(5_000);
+
+    assertThat(reader.isAlive()).isFalse();
+    assertThat(lines).containsExactly("booting", "engine started");
+  }
+
+  @Test
+  void tail_stopsOnInterrupt() throws Exception {
+    var log = Files.createFile(tempDir.resolve("engine.log"));
+    var reader = EngineOutputReader.tail(log, _ -> false);
+    reader.start();
+
+    reader.interrupt();
+    reader.join(5_000);
+
+    assertThat(reader.isAlive()).isFalse();
+  }
+}
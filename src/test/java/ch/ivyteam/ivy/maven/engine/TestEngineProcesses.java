@@ -0,0 +1,49 @@
+package ch.ivyteam.ivy.maven.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+class TestEngineProcesses {
+
+  @TempDir
+  Path engineDir;
+
+  @Test
+  void registered() {
+    assertThat(EngineProcesses.find(engineDir)).isEmpty();
+
+    EngineProcesses.register(engineDir, ProcessHandle.current());
+    assertThat(EngineProcesses.find(engineDir.resolve("."))).contains(ProcessHandle.current());
+
+    EngineProcesses.unregister(engineDir);
+    assertThat(EngineProcesses.find(engineDir)).isEmpty();
+  }
+
+  @Test
+  @DisabledOnOs(OS.WINDOWS)
+  void byCommandLine() throws Exception {
+    var process = new ProcessBuilder("sh", "-c", "sleep 30",
+        EngineProcesses.installAreaArg(engineDir), "start").start();
+    try {
+      assertThat(EngineProcesses.find(engineDir)).contains(process.toHandle());
+    } finally {
+      process.destroy();
+    }
+  }
+
+  @Test
+  void isEngineStart() {
+    var arg = EngineProcesses.installAreaArg(engineDir);
+    assertThat(EngineProcesses.isEngineStart(List.of(arg, "start"), arg)).isTrue();
+    assertThat(EngineProcesses.isEngineStart(List.of(arg, "status"), arg)).isFalse();
+    assertThat(EngineProcesses.isEngineStart(List.of("-Dosgi.install.area=/other", "start"), arg)).isFalse();
+    assertThat(EngineProcesses.isEngineStart(List.of(), arg)).isFalse();
+  }
+}
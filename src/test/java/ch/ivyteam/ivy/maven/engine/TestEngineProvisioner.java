@@ -0,0 +1,73 @@
+package ch.ivyteam.ivy.maven.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ch.ivyteam.ivy.maven.engine.EngineClassLoaderFactory.OsgiDir;
+import ch.ivyteam.ivy.maven.log.LogCollector;
+
+class TestEngineProvisioner {
+
+  @TempDir
+  Path tempDir;
+
+  private Path engine;
+  private Path target;
+
+  @BeforeEach
+  void createEngine() throws IOException {
+    engine = tempDir.resolve("engine");
+    target = tempDir.resolve("target");
+    write(OsgiDir.PLUGINS + "/ch.ivyteam.util_14.0.0.jar");
+    write("lib/boot.jar");
+    write("configuration/ivy.yaml");
+    Files.createDirectories(engine.resolve("deploy"));
+  }
+
+  @Test
+  void copy() throws IOException {
+    new EngineProvisioner(new LogCollector(), false, 2).provision(engine, target);
+
+    assertThat(target.resolve("deploy")).isDirectory();
+    assertThat(target.resolve("configuration/ivy.yaml")).hasContent("configuration/ivy.yaml");
+    assertThat(isSameFile("lib/boot.jar")).isFalse();
+    assertThat(isSameFile(OsgiDir.PLUGINS + "/ch.ivyteam.util_14.0.0.jar")).isFalse();
+  }
+
+  @Test
+  void link() throws IOException {
+    new EngineProvisioner(new LogCollector(), true, 2).provision(engine, target);
+
+    assertThat(target.resolve("deploy")).isDirectory();
+    assertThat(isSameFile("lib/boot.jar")).isTrue();
+    assertThat(isSameFile(OsgiDir.PLUGINS + "/ch.ivyteam.util_14.0.0.jar")).isTrue();
+    assertThat(isSameFile("configuration/ivy.yaml")).as("mutable files are copied").isFalse();
+  }
+
+  @Test
+  void isImmutable() {
+    assertThat(EngineProvisioner.isImmutable(Path.of("system/plugins/a.jar"))).isTrue();
+    assertThat(EngineProvisioner.isImmutable(Path.of("lib/a.jar"))).isTrue();
+    assertThat(EngineProvisioner.isImmutable(Path.of("library/a.jar"))).isFalse();
+    assertThat(EngineProvisioner.isImmutable(Path.of("configuration/ivy.yaml"))).isFalse();
+  }
+
+  private void write(String path) throws IOException {
+    var file = engine.resolve(path);
+    Files.createDirectories(file.getParent());
+    Files.writeString(file, path);
+  }
+
+  private boolean isSameFile(String path) throws IOException {
+    var copied = target.resolve(path);
+    assertThat(copied).hasContent(path);
+    return Files.isSameFile(copied, engine.resolve(path));
+  }
+}
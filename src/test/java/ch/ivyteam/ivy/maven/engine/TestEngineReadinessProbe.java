@@ -0,0 +1,72 @@
+package ch.ivyteam.ivy.maven.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpClient.Redirect;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockserver.integration.ClientAndServer;
+import org.mockserver.matchers.Times;
+
+import ch.ivyteam.ivy.maven.log.LogCollector;
+
+class TestEngineReadinessProbe {
+
+  private final HttpClient client = HttpClient.newBuilder().followRedirects(Redirect.NEVER).build();
+  private ClientAndServer mock;
+  private URI uri;
+
+  @BeforeEach
+  void startHttp() {
+    Integer[] ports = IntStream.rangeClosed(3333, 3333 + 20).boxed().toArray(Integer[]::new);
+    mock = new ClientAndServer(ports);
+    uri = URI.create("http://localhost:" + mock.getPort() + "/");
+  }
+
+  @AfterEach
+  void stopHttp() {
+    mock.stop();
+  }
+
+  @Test
+  void await_readyAfterServiceUnavailable() throws Exception {
+    mock.when(request().withPath("/"), Times.exactly(2))
+        .respond(response().withStatusCode(503));
+    mock.when(request().withPath("/"))
+        .respond(response().withStatusCode(302).withHeader("Location", "/ivy/sys/info.xhtml"));
+
+    var result = new EngineReadinessProbe(client, uri, new LogCollector())
+        .await(System.nanoTime(), Duration.ofSeconds(10), () -> false);
+
+    assertThat(result.response().statusCode()).isEqualTo(302);
+    assertThat(result.timeToFirstByte()).isLessThan(result.timeToReady());
+  }
+
+  @Test
+  void await_timeout() {
+    mock.when(request().withPath("/"))
+        .respond(response().withStatusCode(503));
+
+    var probe = new EngineReadinessProbe(client, uri, new LogCollector());
+    assertThatThrownBy(() -> probe.await(System.nanoTime(), Duration.ofMillis(500), () -> false))
+        .isInstanceOf(TimeoutException.class);
+  }
+
+  @Test
+  void nextBackoff() {
+    assertThat(EngineReadinessProbe.nextBackoff(EngineReadinessProbe.INITIAL_BACKOFF))
+        .isEqualTo(Duration.ofMillis(100));
+    assertThat(EngineReadinessProbe.nextBackoff(Duration.ofSeconds(3)))
+        .isEqualTo(EngineReadinessProbe.MAX_BACKOFF);
+  }
+}
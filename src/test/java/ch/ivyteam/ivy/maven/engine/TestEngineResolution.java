@@ -0,0 +1,43 @@
+package ch.ivyteam.ivy.maven.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.execution.MavenSession;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class TestEngineResolution {
+
+  @Test
+  void sharedBySession() {
+    var session = Mockito.mock(MavenSession.class);
+    Mockito.when(session.getRepositorySession()).thenReturn(new DefaultRepositorySystemSession());
+
+    assertThat(EngineResolution.of(session)).isSameAs(EngineResolution.of(session));
+    assertThat(EngineResolution.of(null)).isNotSameAs(EngineResolution.of(null));
+  }
+
+  @Test
+  void resolvedOnce() throws Exception {
+    var resolution = new EngineResolution();
+    var count = new AtomicInteger();
+
+    EngineResolution.Resolver<String> resolver = () -> "v" + count.incrementAndGet();
+    EngineResolution.Resolver<String> nothing = () -> {
+      count.incrementAndGet();
+      return null;
+    };
+
+    assertThat(resolution.get("key", resolver)).isEqualTo("v1");
+    assertThat(resolution.get("key", resolver)).isEqualTo("v1");
+    assertThat(resolution.get("null", nothing)).isNull();
+    assertThat(resolution.get("null", nothing)).isNull();
+    assertThat(count).hasValue(2);
+
+    resolution.invalidate();
+    assertThat(resolution.get("key", resolver)).isEqualTo("v3");
+  }
+}
@@ -0,0 +1,55 @@
+package ch.ivyteam.ivy.maven.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ch.ivyteam.ivy.maven.engine.EngineStartTimeline.Phase;
+
+class TestEngineStartTimeline {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void phasesFromOutput() {
+    var timeline = new EngineStartTimeline(System.nanoTime());
+    timeline.mark(Phase.PROCESS_SPAWNED);
+    timeline.onOutputLine("WARNING: Using incubator modules");
+    timeline.onOutputLine("Starting Axon Ivy Engine 14.0.0");
+    timeline.onOutputLine("Go to http://localhost:8080/ to see the info page of Axon Ivy Engine.");
+    timeline.onOutputLine("Go to http://localhost:8080/ to see the info page of Axon Ivy Engine.");
+    timeline.mark(Phase.HTTP_READY);
+
+    assertThat(timeline.phases()).containsOnlyKeys(Phase.PROCESS_SPAWNED, Phase.FIRST_LOG_LINE,
+        Phase.FRAMEWORK_STARTED, Phase.WEBAPP_DEPLOYED, Phase.HTTP_READY);
+    assertThat(timeline.phases().keySet()).startsWith(Phase.PROCESS_SPAWNED).endsWith(Phase.HTTP_READY);
+  }
+
+  @Test
+  void missingPhases() {
+    var timeline = new EngineStartTimeline(System.nanoTime());
+    timeline.onOutputLine("log4j:WARN No appenders could be found");
+    assertThat(timeline.phases()).containsOnlyKeys(Phase.FIRST_LOG_LINE);
+  }
+
+  @Test
+  void writeJson() throws Exception {
+    var timeline = new EngineStartTimeline(System.nanoTime());
+    timeline.mark(Phase.PROCESS_SPAWNED);
+    timeline.mark(Phase.HTTP_READY);
+
+    var json = tempDir.resolve("target/timeline.json");
+    timeline.writeJson(json);
+
+    assertThat(Files.readString(json))
+        .contains("\"start\"")
+        .contains("\"name\" : \"processSpawned\"")
+        .contains("\"name\" : \"httpReady\"")
+        .contains("\"deltaMillis\"");
+  }
+}
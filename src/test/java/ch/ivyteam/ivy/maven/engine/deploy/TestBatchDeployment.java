@@ -0,0 +1,104 @@
+package ch.ivyteam.ivy.maven.engine.deploy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ch.ivyteam.ivy.maven.engine.deploy.BatchDeployment.ArtifactResult;
+import ch.ivyteam.ivy.maven.engine.deploy.BatchDeployment.Status;
+import ch.ivyteam.ivy.maven.log.LogCollector;
+import net.lingala.zip4j.ZipFile;
+
+class TestBatchDeployment {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void stage() throws IOException {
+    var base = iar("base-1.0.0.iar");
+    var app = tempDir.resolve("app.zip");
+    try (var zip = new ZipFile(app.toFile())) {
+      zip.addFile(iar("portal-2.0.0.iar").toFile());
+    }
+
+    var batchZip = new BatchDeployment(List.of(base, app)).stage(tempDir.resolve("target/batch.zip"));
+
+    try (var zip = new ZipFile(batchZip.toFile())) {
+      assertThat(zip.getFileHeaders())
+          .extracting(header -> header.getFileName())
+          .containsExactlyInAnyOrder("base-1.0.0.iar", "portal-2.0.0.iar");
+    }
+  }
+
+  @Test
+  void stage_duplicates() throws IOException {
+    var iar = iar("base-1.0.0.iar");
+    var other = Files.createDirectories(tempDir.resolve("other")).resolve("base-1.0.0.iar");
+    Files.copy(iar, other);
+
+    assertThatThrownBy(() -> new BatchDeployment(List.of(iar, other)).stage(tempDir.resolve("batch.zip")))
+        .isInstanceOf(IOException.class);
+  }
+
+  @Test
+  void results() {
+    var batch = new BatchDeployment(List.of(Path.of("base-1.0.0-SNAPSHOT.iar"), Path.of("portal.iar")));
+    var log = List.of(
+        "INFO: Deploying project base",
+        "ERROR: Project portal has invalid process models",
+        "INFO: done");
+
+    var results = batch.results(log, false);
+    assertThat(results).extracting(ArtifactResult::status).containsExactly(Status.UNKNOWN, Status.FAILED);
+    assertThat(results.get(1).messages()).containsExactly("ERROR: Project portal has invalid process models");
+
+    var collector = new LogCollector();
+    batch.report(results, collector);
+    assertThat(collector.getErrors().toString()).contains("[FAILED] portal.iar");
+    assertThat(collector.getWarnings().toString()).contains("[UNKNOWN] base-1.0.0-SNAPSHOT.iar");
+  }
+
+  @Test
+  void results_succeeded() {
+    var batch = new BatchDeployment(List.of(Path.of("base.iar"), Path.of("portal.iar")));
+    assertThat(batch.results(List.of("INFO: Deploying project base"), true))
+        .as("only deployed if the log says so")
+        .extracting(ArtifactResult::status)
+        .containsExactly(Status.DEPLOYED, Status.UNKNOWN);
+  }
+
+  @Test
+  void results_wholeNames() {
+    var batch = new BatchDeployment(List.of(Path.of("app-1.0.0.iar"), Path.of("app-core-1.0.0.iar")));
+    var results = batch.results(List.of("ERROR: Project app-core has invalid process models"), false);
+    assertThat(results).extracting(ArtifactResult::status).containsExactly(Status.UNKNOWN, Status.FAILED);
+    assertThat(results.get(0).messages()).isEmpty();
+  }
+
+  @Test
+  void results_errorOfSeveralArtifacts() {
+    var batch = new BatchDeployment(List.of(Path.of("base.iar"), Path.of("portal.iar")));
+    var results = batch.results(List.of("ERROR: Project portal requires a newer base"), false);
+    assertThat(results).extracting(ArtifactResult::status).containsExactly(Status.UNKNOWN, Status.UNKNOWN);
+    assertThat(results).allSatisfy(result -> assertThat(result.messages()).hasSize(1));
+  }
+
+  @Test
+  void artifactName() {
+    assertThat(BatchDeployment.artifactName(Path.of("my-project-1.0.0-SNAPSHOT.iar"))).isEqualTo("my-project");
+    assertThat(BatchDeployment.artifactName(Path.of("portal.zip"))).isEqualTo("portal");
+    assertThat(BatchDeployment.artifactName(Path.of("x-1.iar"))).isEqualTo("x");
+  }
+
+  private Path iar(String name) throws IOException {
+    return Files.writeString(tempDir.resolve(name), name);
+  }
+}
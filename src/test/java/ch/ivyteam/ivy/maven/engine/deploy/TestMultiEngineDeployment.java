@@ -0,0 +1,102 @@
+package ch.ivyteam.ivy.maven.engine.deploy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.junit.jupiter.api.Test;
+
+import ch.ivyteam.ivy.maven.engine.deploy.MultiEngineDeployment.NodeResult;
+import ch.ivyteam.ivy.maven.engine.deploy.MultiEngineDeployment.Status;
+import ch.ivyteam.ivy.maven.log.LogCollector;
+
+class TestMultiEngineDeployment {
+
+  private final LogCollector log = new LogCollector();
+
+  @Test
+  void boundedParallelism() throws Exception {
+    var running = new AtomicInteger();
+    var maxRunning = new AtomicInteger();
+    var nodes = List.of("n1", "n2", "n3", "n4", "n5", "n6");
+
+    var results = new MultiEngineDeployment(2, null).deploy(nodes, (_, nodeLog, _) -> {
+      maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+      Thread.sleep(50);
+      nodeLog.info("deployed");
+      running.decrementAndGet();
+    }, log);
+
+    assertThat(results).extracting(NodeResult::node).containsExactlyElementsOf(nodes);
+    assertThat(results).extracting(NodeResult::status).containsOnly(Status.DEPLOYED);
+    assertThat(maxRunning.get()).isEqualTo(2);
+    assertThat(log.getInfos().toString()).contains("[n1] deployed", "[n6] deployed");
+    MultiEngineDeployment.report(results, log);
+  }
+
+  @Test
+  void failuresAndTimeouts() throws Exception {
+    var results = new MultiEngineDeployment(4, Duration.ofMillis(200)).deploy(List.of("ok", "broken", "slow"),
+        (node, _, _) -> {
+          if (node.equals("broken")) {
+            throw new MojoExecutionException("Deployment failed");
+          }
+          if (node.equals("slow")) {
+            Thread.sleep(10_000);
+          }
+        }, log);
+
+    assertThat(results).extracting(NodeResult::status)
+        .containsExactly(Status.DEPLOYED, Status.FAILED, Status.TIMED_OUT);
+    assertThat(results.get(1).error()).hasMessage("Deployment failed");
+
+    assertThatThrownBy(() -> MultiEngineDeployment.report(results, log))
+        .isInstanceOf(MojoExecutionException.class)
+        .hasMessage("Deployment failed on 2 of 3 engines: broken, slow");
+    assertThat(log.getErrors().toString()).contains("[FAILED] broken", "[TIMED_OUT] slow");
+  }
+
+  @Test
+  void timeoutAbortsDeployment() throws Exception {
+    var aborted = new CountDownLatch(1);
+    var results = new MultiEngineDeployment(1, Duration.ofMillis(200)).deploy(List.of("stuck"),
+        (_, _, abort) -> {
+          abort.onAbort(aborted::countDown);
+          while (aborted.getCount() > 0) {
+            Thread.onSpinWait(); // ignores interrupts, like a blocking upload
+          }
+        }, log);
+
+    assertThat(results).extracting(NodeResult::status).containsExactly(Status.TIMED_OUT);
+    assertThat(aborted.getCount()).isZero();
+  }
+
+  @Test
+  void timeoutStartsWithDeployment() throws Exception {
+    var results = new MultiEngineDeployment(1, Duration.ofMillis(300)).deploy(List.of("n1", "n2", "n3"),
+        (_, _, _) -> Thread.sleep(150), log);
+
+    assertThat(results).extracting(NodeResult::status).containsOnly(Status.DEPLOYED);
+  }
+
+  @Test
+  void unexpectedFailure() throws Exception {
+    var results = new MultiEngineDeployment(2, null).deploy(List.of("ok", "bug"), (node, _, _) -> {
+      if (node.equals("bug")) {
+        throw new IllegalStateException("unexpected");
+      }
+    }, log);
+
+    assertThat(results).extracting(NodeResult::node).containsExactly("ok", "bug");
+    assertThat(results).extracting(NodeResult::status).containsExactly(Status.DEPLOYED, Status.FAILED);
+    assertThatThrownBy(() -> MultiEngineDeployment.report(results, log))
+        .isInstanceOf(MojoExecutionException.class)
+        .hasMessage("Deployment failed on 1 of 2 engines: bug");
+    assertThat(log.getErrors().toString()).contains("[FAILED] bug", "unexpected");
+  }
+}
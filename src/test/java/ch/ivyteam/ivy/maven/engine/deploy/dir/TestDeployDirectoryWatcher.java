@@ -0,0 +1,34 @@
+package ch.ivyteam.ivy.maven.engine.deploy.dir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ch.ivyteam.ivy.maven.log.LogCollector;
+
+class TestDeployDirectoryWatcher {
+
+  @TempDir
+  Path deployDir;
+
+  @Test
+  void watch() throws Exception {
+    try (var watcher = new DeployDirectoryWatcher(deployDir, new LogCollector())) {
+      assertThat(watcher.isWatching()).isTrue();
+      watcher.awaitChange();
+    }
+  }
+
+  @Test
+  void pollingFallback() throws Exception {
+    var log = new LogCollector();
+    try (var watcher = new DeployDirectoryWatcher(deployDir.resolve("missing"), log)) {
+      assertThat(watcher.isWatching()).isFalse();
+      assertThat(log.getDebug().toString()).contains("polling it instead");
+      watcher.awaitChange();
+    }
+  }
+}
@@ -0,0 +1,84 @@
+package ch.ivyteam.ivy.maven.engine.deploy.dir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ch.ivyteam.ivy.maven.log.LogCollector;
+
+class TestFileDeployer {
+
+  @TempDir
+  Path tempDir;
+
+  private Path deployDir;
+  private Path iar;
+  private Path candidate;
+
+  @BeforeEach
+  void setup() throws Exception {
+    deployDir = tempDir.resolve("deploy");
+    iar = tempDir.resolve("myProject.iar");
+    Files.writeString(iar, "iar");
+    candidate = deployDir.resolve("app/myProject.iar");
+  }
+
+  @Test
+  void deploy() throws Exception {
+    var log = new LogCollector();
+    var engine = fakeEngine(null);
+
+    new FileDeployer(deployDir, null, 10, iar, candidate).deploy("app/myProject.iar", log);
+
+    engine.join();
+    assertThat(candidate).doesNotExist();
+    assertThat(log.getWarnings().toString()).contains("ENGINE: deployed");
+    assertThat(log.getInfos().toString()).contains("Deployment finished");
+  }
+
+  @Test
+  void deploy_failed() throws Exception {
+    var log = new LogCollector();
+    var engine = fakeEngine("broken");
+
+    assertThatThrownBy(() -> new FileDeployer(deployDir, null, 10, iar, candidate).deploy("app/myProject.iar", log))
+        .isInstanceOf(MojoExecutionException.class)
+        .hasMessageContaining("failed");
+    engine.join();
+    assertThat(log.getErrors().toString()).contains("broken");
+  }
+
+  @Test
+  void deploy_timeout() {
+    var log = new LogCollector();
+    assertThatThrownBy(() -> new FileDeployer(deployDir, null, 0, iar, candidate).deploy("app/myProject.iar", log))
+        .isInstanceOf(MojoExecutionException.class)
+        .hasMessage("Deployment result does not exist");
+  }
+
+  private CompletableFuture<Void> fakeEngine(String error) {
+    var files = new DeploymentFiles(candidate);
+    return CompletableFuture.runAsync(() -> {
+      try {
+        while (!Files.exists(candidate)) {
+          Thread.sleep(10);
+        }
+        Files.writeString(files.log(), "WARNING: deployed\n");
+        if (error != null) {
+          Files.writeString(files.errorLog(), error);
+        }
+        Files.delete(candidate);
+      } catch (Exception ex) {
+        throw new RuntimeException(ex);
+      }
+    });
+  }
+}
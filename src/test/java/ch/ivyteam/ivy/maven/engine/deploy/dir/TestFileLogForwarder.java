@@ -17,7 +17,6 @@
 package ch.ivyteam.ivy.maven.engine.deploy.dir;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.awaitility.Awaitility.await;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -44,29 +43,31 @@ class TestFileLogForwarder {
     var log = new FakeLogger(fakeEngineLog);
 
     try {
-      logForwarder.activate();
-
       log.write("WARNING: starting");
-      await().untilAsserted(() -> assertThat(mavenLog.getWarnings()).hasSize(1));
+      logForwarder.forwardNewLines();
+      assertThat(mavenLog.getWarnings()).hasSize(1);
       LogEntry firstEntry = mavenLog.getWarnings().get(mavenLog.getWarnings().size() - 1);
       assertThat(firstEntry.toString()).isEqualTo(" ENGINE: starting");
 
       log.write("WARNING: finished");
-      await().untilAsserted(() -> assertThat(mavenLog.getWarnings()).hasSize(2));
+      logForwarder.forwardNewLines();
+      assertThat(mavenLog.getWarnings()).hasSize(2);
       LogEntry lastEntry = mavenLog.getWarnings().get(mavenLog.getWarnings().size() - 1);
       assertThat(lastEntry.toString()).isEqualTo(" ENGINE: finished");
 
       log.write("INFO: hi");
-      await().untilAsserted(() -> assertThat(mavenLog.getDebug()).hasSize(1));
+      logForwarder.forwardNewLines();
+      assertThat(mavenLog.getDebug()).hasSize(1);
       LogEntry debugEntry = mavenLog.getDebug().get(mavenLog.getDebug().size() - 1);
       assertThat(debugEntry.toString()).isEqualTo(" ENGINE: hi");
 
     } finally {
-      logForwarder.deactivate();
+      logForwarder.forwardRemainingLines();
     }
 
     log.write("WARNING: illegal");
-    await().untilAsserted(() -> assertThat(mavenLog.getWarnings()).hasSize(2));
+    logForwarder.forwardNewLines();
+    assertThat(mavenLog.getWarnings()).hasSize(2);
   }
 
   private static final class FakeLogger {
@@ -79,7 +80,7 @@ class TestFileLogForwarder {
 
     private void write(String log) {
       try {
-        Files.writeString(file, log, StandardOpenOption.APPEND);
+        Files.writeString(file, log + "\n", StandardOpenOption.APPEND);
       } catch (IOException ex) {
         throw new RuntimeException(ex);
       }
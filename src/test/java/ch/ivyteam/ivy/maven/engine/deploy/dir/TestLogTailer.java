@@ -0,0 +1,101 @@
+package ch.ivyteam.ivy.maven.engine.deploy.dir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TestLogTailer {
+
+  @TempDir
+  Path tempDir;
+
+  private Path log;
+  private List<String> lines;
+
+  @BeforeEach
+  void setup() {
+    log = tempDir.resolve("myProject.iar.deploymentLog");
+    lines = new ArrayList<>();
+  }
+
+  @Test
+  void missingFile() throws IOException {
+    try (var tailer = new LogTailer(log)) {
+      tailer.readLines(lines::add);
+      tailer.flush(lines::add);
+    }
+    assertThat(lines).isEmpty();
+  }
+
+  @Test
+  void partialLine() throws IOException {
+    try (var tailer = new LogTailer(log)) {
+      append("INFO: first\nWARNING: sec".getBytes(StandardCharsets.UTF_8));
+      tailer.readLines(lines::add);
+      assertThat(lines).containsExactly("INFO: first");
+
+      append("ond\r\nERROR: third".getBytes(StandardCharsets.UTF_8));
+      tailer.readLines(lines::add);
+      assertThat(lines).containsExactly("INFO: first", "WARNING: second");
+
+      tailer.flush(lines::add);
+      assertThat(lines).containsExactly("INFO: first", "WARNING: second", "ERROR: third");
+    }
+  }
+
+  @Test
+  void splitMultiByteCharacter() throws IOException {
+    var bytes = "INFO: Zürich ☃\n".getBytes(StandardCharsets.UTF_8);
+    int split = "INFO: Z".length() + 1; // within 'ü'
+    try (var tailer = new LogTailer(log)) {
+      append(Arrays.copyOfRange(bytes, 0, split));
+      tailer.readLines(lines::add);
+      append(Arrays.copyOfRange(bytes, split, bytes.length - 2)); // within '☃'
+      tailer.readLines(lines::add);
+      assertThat(lines).isEmpty();
+
+      append(Arrays.copyOfRange(bytes, bytes.length - 2, bytes.length));
+      tailer.readLines(lines::add);
+    }
+    assertThat(lines).containsExactly("INFO: Zürich ☃");
+  }
+
+  @Test
+  void largeLog() throws IOException {
+    var content = new StringBuilder();
+    for (int i = 0; i < 5_000; i++) {
+      content.append("INFO: line ").append(i).append(" äöü\n");
+    }
+    append(content.toString().getBytes(StandardCharsets.UTF_8));
+    try (var tailer = new LogTailer(log)) {
+      tailer.readLines(lines::add);
+    }
+    assertThat(lines).hasSize(5_000).endsWith("INFO: line 4999 äöü");
+  }
+
+  @Test
+  void truncated() throws IOException {
+    try (var tailer = new LogTailer(log)) {
+      append("INFO: old content\n".getBytes(StandardCharsets.UTF_8));
+      tailer.readLines(lines::add);
+      Files.writeString(log, "INFO: new\n");
+      tailer.readLines(lines::add);
+    }
+    assertThat(lines).containsExactly("INFO: old content", "INFO: new");
+  }
+
+  private void append(byte[] bytes) throws IOException {
+    Files.write(log, bytes, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+  }
+}
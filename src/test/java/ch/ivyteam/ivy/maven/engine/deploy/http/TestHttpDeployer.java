@@ -0,0 +1,149 @@
+package ch.ivyteam.ivy.maven.engine.deploy.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.apache.http.entity.StringEntity;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockserver.integration.ClientAndServer;
+import org.mockserver.model.HttpError;
+
+import ch.ivyteam.ivy.maven.log.LogCollector;
+
+class TestHttpDeployer {
+
+  private static final String DEPLOY_PATH = "/system/api/apps/default/portal/deploy/new";
+
+  @TempDir
+  Path tempDir;
+
+  private ClientAndServer mock;
+  private Path iar;
+  private final LogCollector log = new LogCollector();
+
+  @BeforeEach
+  void startHttp() throws IOException {
+    Integer[] ports = IntStream.rangeClosed(3333, 3333 + 20).boxed().toArray(Integer[]::new);
+    mock = new ClientAndServer(ports);
+    iar = Files.writeString(tempDir.resolve("portal.iar"), "iar content");
+  }
+
+  @AfterEach
+  void stopHttp() {
+    mock.stop();
+  }
+
+  @Test
+  void deploy() throws Exception {
+    mock.when(request().withMethod("POST").withPath(DEPLOY_PATH))
+        .respond(response().withStatusCode(200).withBody("INFO: deployed"));
+
+    deployer("http://localhost:" + mock.getPort() + "/").deploy(log);
+
+    var recorded = mock.retrieveRecordedRequests(request().withPath(DEPLOY_PATH));
+    assertThat(recorded).hasSize(1);
+    assertThat(recorded[0].getBodyAsString()).contains("iar content");
+    assertThat(log.getInfos().toString()).contains("MB/s", "Deployment finished");
+  }
+
+  @Test
+  void deploy_failedStatus() {
+    mock.when(request().withPath(DEPLOY_PATH))
+        .respond(response().withStatusCode(500).withBody("ERROR: broken"));
+
+    assertThatThrownBy(() -> deployer("http://localhost:" + mock.getPort() + "/").deploy(log))
+        .isInstanceOf(MojoExecutionException.class)
+        .hasMessageContaining("Status: 500");
+    assertThat(mock.retrieveRecordedRequests(request().withPath(DEPLOY_PATH))).hasSize(1);
+  }
+
+  @Test
+  void deploy_noRetryAfterCompleteUpload() {
+    mock.when(request().withPath(DEPLOY_PATH))
+        .error(HttpError.error().withDropConnection(true));
+
+    assertThatThrownBy(() -> deployer("http://localhost:" + mock.getPort() + "/").deploy(log))
+        .isInstanceOf(MojoExecutionException.class);
+    assertThat(mock.retrieveRecordedRequests(request().withPath(DEPLOY_PATH))).hasSize(1);
+    assertThat(log.getWarnings()).isEmpty();
+  }
+
+  @Test
+  void deploy_retryConnectionFailures() throws IOException {
+    int closedPort;
+    try (var socket = new ServerSocket(0)) {
+      closedPort = socket.getLocalPort();
+    }
+
+    assertThatThrownBy(() -> deployer("http://localhost:" + closedPort + "/").deploy(log))
+        .isInstanceOf(MojoExecutionException.class)
+        .hasMessageContaining("Failed to deploy 'portal.iar'");
+    assertThat(log.getWarnings()).hasSize(2);
+    assertThat(log.getWarnings().getFirst().toString()).contains("failed after 0 bytes", "Retrying in 1 [ms]");
+  }
+
+  @Test
+  void deploy_abort() {
+    mock.when(request().withPath(DEPLOY_PATH))
+        .respond(response().withStatusCode(200).withDelay(TimeUnit.SECONDS, 30));
+    var deployer = deployer("http://localhost:" + mock.getPort() + "/");
+    var deployment = CompletableFuture.runAsync(() -> {
+      try {
+        deployer.deploy(log);
+      } catch (MojoExecutionException ex) {
+        throw new CompletionException(ex);
+      }
+    });
+    await().until(() -> mock.retrieveRecordedRequests(request().withPath(DEPLOY_PATH)).length == 1);
+
+    deployer.abort();
+
+    assertThatThrownBy(() -> deployment.get(5, TimeUnit.SECONDS))
+        .hasCauseInstanceOf(MojoExecutionException.class)
+        .hasMessageContaining("was aborted");
+    assertThat(mock.retrieveRecordedRequests(request().withPath(DEPLOY_PATH))).hasSize(1);
+  }
+
+  @Test
+  void uploadEntity() throws IOException {
+    var upload = new UploadEntity(new StringEntity("content"), log);
+    assertThat(upload.isChunked()).isTrue();
+    assertThat(upload.getContentLength()).isEqualTo(-1);
+    assertThat(upload.isComplete()).isFalse();
+
+    upload.writeTo(new ByteArrayOutputStream());
+    assertThat(upload.isComplete()).isTrue();
+    assertThat(upload.getBytesWritten()).isEqualTo(7);
+    assertThat(UploadEntity.throughput(3 * 1024 * 1024, Duration.ofSeconds(2))).isEqualTo("3.0 MB in 2.0 s (1.5 MB/s)");
+  }
+
+  @Test
+  void nextBackoff() {
+    assertThat(HttpDeployer.nextBackoff(Duration.ofSeconds(1))).isEqualTo(Duration.ofSeconds(2));
+    assertThat(HttpDeployer.nextBackoff(Duration.ofSeconds(20))).isEqualTo(HttpDeployer.MAX_BACKOFF);
+  }
+
+  private HttpDeployer deployer(String url) {
+    return new HttpDeployer(null, null, url, "default", "portal", "new", iar, null)
+        .retries(2)
+        .initialBackoff(Duration.ofMillis(1));
+  }
+}
@@ -0,0 +1,99 @@
+package ch.ivyteam.ivy.maven.engine.download;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ch.ivyteam.ivy.maven.log.LogCollector;
+import ch.ivyteam.ivy.maven.util.Sha256;
+
+class TestEngineZipCache {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void storeAndFind() throws Exception {
+    var cache = new EngineZipCache(tempDir.resolve("cache"), 1024, new LogCollector());
+    var url = url("AxonIvyEngine14.0.0.1_All_x64.zip");
+    var download = download("engine", 10);
+    var sha256 = Sha256.of(download);
+
+    var cached = cache.store(url, download, sha256);
+
+    assertThat(download).doesNotExist();
+    assertThat(cached).hasFileName(sha256 + ".zip");
+    assertThat(cache.findByUrl(url)).contains(cached);
+    assertThat(cache.findBySha256(sha256)).contains(cached);
+    assertThat(cache.findByUrl(url("other.zip"))).isEmpty();
+  }
+
+  @Test
+  void evictLeastRecentlyUsed() throws Exception {
+    var cache = new EngineZipCache(tempDir.resolve("cache"), 25, new LogCollector());
+    var old = store(cache, "old", 10);
+    var used = store(cache, "used", 10);
+    Files.setLastModifiedTime(old, FileTime.fromMillis(1000));
+    Files.setLastModifiedTime(used, FileTime.fromMillis(2000));
+
+    var latest = store(cache, "latest", 10);
+
+    assertThat(old).doesNotExist();
+    assertThat(used).exists();
+    assertThat(latest).exists();
+    assertThat(cache.findByUrl(url("old.zip"))).isEmpty();
+  }
+
+  @Test
+  void keepRecentlyUsed() throws Exception {
+    var cache = new EngineZipCache(tempDir.resolve("cache"), 15, new LogCollector());
+    var inUse = store(cache, "inUse", 10);
+    var old = store(cache, "old", 10);
+    Files.setLastModifiedTime(old, FileTime.fromMillis(1000));
+
+    var latest = store(cache, "latest", 10);
+
+    assertThat(inUse).as("possibly unpacked by a concurrent build").exists();
+    assertThat(old).doesNotExist();
+    assertThat(latest).exists();
+  }
+
+  @Test
+  void deleteStaleTempFiles() throws Exception {
+    var cache = new EngineZipCache(tempDir.resolve("cache"), 1024, new LogCollector());
+    var first = store(cache, "first", 10);
+    var stale = Files.createFile(first.resolveSibling("crashed.zip.tmp"));
+    Files.setLastModifiedTime(stale, FileTime.fromMillis(1000));
+    var staleIndex = Files.createFile(tempDir.resolve("cache/urls/index1.tmp"));
+    Files.setLastModifiedTime(staleIndex, FileTime.fromMillis(1000));
+    var inProgress = Files.createFile(first.resolveSibling("writing.zip.tmp"));
+
+    store(cache, "second", 10);
+
+    assertThat(stale).doesNotExist();
+    assertThat(staleIndex).doesNotExist();
+    assertThat(inProgress).as("possibly written by a concurrent build").exists();
+  }
+
+  private Path store(EngineZipCache cache, String name, int size) throws Exception {
+    var download = download(name, size);
+    return cache.store(url(name + ".zip"), download, Sha256.of(download));
+  }
+
+  private Path download(String name, int size) throws Exception {
+    var file = tempDir.resolve(name + ".zip");
+    Files.writeString(file, name.repeat(size).substring(0, size));
+    return file;
+  }
+
+  private static URL url(String file) throws Exception {
+    return URI.create("https://developer.axonivy.com/permalink/" + file).toURL();
+  }
+}
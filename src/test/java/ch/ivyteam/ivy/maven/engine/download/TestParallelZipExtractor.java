@@ -0,0 +1,52 @@
+package ch.ivyteam.ivy.maven.engine.download;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+
+import org.apache.commons.lang3.SystemUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import net.lingala.zip4j.ZipFile;
+
+class TestParallelZipExtractor {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void extract() throws Exception {
+    var source = tempDir.resolve("engine");
+    Files.createDirectories(source.resolve("system/plugins"));
+    Files.createDirectories(source.resolve("lib/empty"));
+    for (int i = 0; i < 50; i++) {
+      Files.writeString(source.resolve("system/plugins/bundle" + i + ".jar"), "bundle " + i);
+    }
+    var launcher = source.resolve("AxonIvyEngine");
+    Files.writeString(launcher, "#!/bin/sh");
+    if (SystemUtils.IS_OS_UNIX) {
+      launcher.toFile().setExecutable(true);
+    }
+    var zip = tempDir.resolve("engine.zip");
+    try (var engineZip = new ZipFile(zip.toFile())) {
+      engineZip.addFolder(source.resolve("system").toFile());
+      engineZip.addFolder(source.resolve("lib").toFile());
+      engineZip.addFile(launcher.toFile());
+    }
+
+    var target = tempDir.resolve("unpacked");
+    new ParallelZipExtractor(4).extract(zip, target);
+
+    assertThat(target.resolve("system/plugins")).isDirectoryContaining("glob:**/bundle49.jar");
+    assertThat(target.resolve("system/plugins/bundle7.jar")).hasContent("bundle 7");
+    assertThat(target.resolve("lib/empty")).isEmptyDirectory();
+    assertThat(target.resolve("AxonIvyEngine")).hasContent("#!/bin/sh");
+    if (SystemUtils.IS_OS_UNIX) {
+      assertThat(Files.getPosixFilePermissions(target.resolve("AxonIvyEngine")))
+          .contains(PosixFilePermission.OWNER_EXECUTE);
+    }
+  }
+}
@@ -0,0 +1,215 @@
+package ch.ivyteam.ivy.maven.engine.download;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockserver.integration.ClientAndServer;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.model.HttpResponse;
+
+import ch.ivyteam.ivy.maven.log.LogCollector;
+
+class TestRangeDownloader {
+
+  private static final int CHUNK = 1000;
+
+  @TempDir
+  Path tempDir;
+
+  private ClientAndServer mock;
+  private URL url;
+  private byte[] content;
+  private final List<String> requestedRanges = new CopyOnWriteArrayList<>();
+  private final List<String> ifRanges = new CopyOnWriteArrayList<>();
+  private final AtomicInteger staleProbes = new AtomicInteger();
+  private String etag;
+  private String lastModified;
+
+  @BeforeEach
+  void startHttp() throws Exception {
+    Integer[] ports = IntStream.rangeClosed(3333, 3333 + 20).boxed().toArray(Integer[]::new);
+    mock = new ClientAndServer(ports);
+    url = URI.create("http://localhost:" + mock.getPort() + "/engine.zip").toURL();
+    content = new byte[CHUNK * 5 + 123];
+    new Random(42).nextBytes(content);
+  }
+
+  @AfterEach
+  void stopHttp() {
+    mock.stop();
+  }
+
+  @Test
+  void download_parallelRanges() throws Exception {
+    serveRanges();
+    var target = tempDir.resolve("engine.zip");
+
+    boolean downloaded = new RangeDownloader(new LogCollector(), null, 4, CHUNK).download(url, target, this::verifyContent);
+
+    assertThat(downloaded).isTrue();
+    assertThat(Files.readAllBytes(target)).isEqualTo(content);
+    assertThat(requestedRanges).hasSize(7); // probe + 6 chunks
+    assertThat(RangeDownloader.partFile(target)).doesNotExist();
+    assertThat(RangeDownloader.stateFile(target)).doesNotExist();
+  }
+
+  @Test
+  void download_resumesPartialDownload() throws Exception {
+    serveRanges();
+    var target = tempDir.resolve("engine.zip");
+    var part = RangeDownloader.partFile(target);
+    var partial = new byte[content.length];
+    System.arraycopy(content, 0, partial, 0, CHUNK * 2);
+    Files.write(part, partial);
+    Files.writeString(RangeDownloader.stateFile(target),
+        "length=" + content.length + "\nchunkSize=" + CHUNK + "\ndone=0,1\n");
+
+    new RangeDownloader(new LogCollector(), null, 2, CHUNK).download(url, target, this::verifyContent);
+
+    assertThat(Files.readAllBytes(target)).isEqualTo(content);
+    assertThat(requestedRanges)
+        .doesNotContain("bytes=0-999", "bytes=1000-1999")
+        .contains("bytes=2000-2999", "bytes=5000-5122");
+  }
+
+  @Test
+  void download_restartsIfRemoteChanged() throws Exception {
+    etag = "\"v2\"";
+    staleProbes.set(1); // the file changes right after the first probe
+    serveRanges();
+    var target = tempDir.resolve("engine.zip");
+
+    boolean downloaded = new RangeDownloader(new LogCollector(), null, 2, CHUNK).download(url, target, this::verifyContent);
+
+    assertThat(downloaded).isTrue();
+    assertThat(Files.readAllBytes(target)).isEqualTo(content);
+    assertThat(requestedRanges).filteredOn("bytes=0-0"::equals).hasSize(2);
+    assertThat(ifRanges).contains("\"v1\"", "\"v2\"");
+  }
+
+  @Test
+  void download_ifRangeLastModified() throws Exception {
+    etag = "W/\"weak\"";
+    lastModified = "Wed, 21 Oct 2015 07:28:00 GMT";
+    serveRanges();
+    var target = tempDir.resolve("engine.zip");
+
+    new RangeDownloader(new LogCollector(), null, 2, CHUNK).download(url, target, this::verifyContent);
+
+    assertThat(Files.readAllBytes(target)).isEqualTo(content);
+    assertThat(ifRanges).hasSize(6).containsOnly(lastModified);
+  }
+
+  @Test
+  void download_noRangeSupport() throws Exception {
+    mock.when(request().withPath("/engine.zip"))
+        .respond(response().withBody(content));
+    var target = tempDir.resolve("engine.zip");
+
+    boolean downloaded = new RangeDownloader(new LogCollector(), null, 4, CHUNK).download(url, target, this::verifyContent);
+
+    assertThat(downloaded).isFalse();
+    assertThat(target).doesNotExist();
+  }
+
+  @Test
+  void download_verificationFails() throws Exception {
+    serveRanges();
+    var target = tempDir.resolve("engine.zip");
+
+    assertThatThrownBy(() -> new RangeDownloader(new LogCollector(), null, 2, CHUNK)
+        .download(url, target, URLEngineDownloader::verifyArchive))
+        .isInstanceOf(IOException.class)
+        .hasMessageContaining("is not a valid zip file");
+    assertThat(target).doesNotExist();
+    assertThat(RangeDownloader.partFile(target)).doesNotExist();
+    assertThat(RangeDownloader.stateFile(target)).doesNotExist();
+  }
+
+  @Test
+  void verifyArchive_corruptEntry() throws Exception {
+    var zip = tempDir.resolve("engine.zip");
+    var data = "engine content".getBytes(StandardCharsets.UTF_8);
+    try (var out = new ZipOutputStream(Files.newOutputStream(zip))) {
+      var entry = new ZipEntry("lib/engine.txt");
+      entry.setMethod(ZipEntry.STORED);
+      entry.setSize(data.length);
+      var crc = new CRC32();
+      crc.update(data);
+      entry.setCrc(crc.getValue());
+      out.putNextEntry(entry);
+      out.write(data);
+    }
+    URLEngineDownloader.verifyArchive(zip);
+
+    var bytes = Files.readAllBytes(zip);
+    int offset = new String(bytes, StandardCharsets.ISO_8859_1).indexOf("engine content");
+    bytes[offset] = 'E';
+    Files.write(zip, bytes);
+    assertThatThrownBy(() -> URLEngineDownloader.verifyArchive(zip))
+        .hasMessageContaining("corrupt entry lib/engine.txt");
+  }
+
+  private void verifyContent(Path file) throws IOException {
+    if (!Arrays.equals(Files.readAllBytes(file), content)) {
+      throw new IOException("Unexpected content");
+    }
+  }
+
+  private void serveRanges() {
+    mock.when(request().withPath("/engine.zip"))
+        .respond(this::rangeResponse);
+  }
+
+  private HttpResponse rangeResponse(HttpRequest request) {
+    var range = request.getFirstHeader("Range");
+    requestedRanges.add(range);
+    var announced = etag;
+    if ("bytes=0-0".equals(range) && staleProbes.getAndDecrement() > 0) {
+      announced = "\"v1\"";
+    }
+    var ifRange = request.getFirstHeader("If-Range");
+    if (StringUtils.isNotEmpty(ifRange)) {
+      ifRanges.add(ifRange);
+      if (!ifRange.equals(etag) && !ifRange.equals(lastModified)) {
+        return response().withBody(content);
+      }
+    }
+    long start = Long.parseLong(StringUtils.substringBetween(range, "bytes=", "-"));
+    long end = Long.parseLong(StringUtils.substringAfter(range, "-"));
+    var response = response()
+        .withStatusCode(206)
+        .withHeader("Content-Range", "bytes " + start + "-" + end + "/" + content.length)
+        .withBody(Arrays.copyOfRange(content, (int) start, (int) end + 1));
+    if (announced != null) {
+      response.withHeader("ETag", announced);
+    }
+    if (lastModified != null) {
+      response.withHeader("Last-Modified", lastModified);
+    }
+    return response;
+  }
+}
@@ -0,0 +1,69 @@
+package ch.ivyteam.ivy.maven.engine.download;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import net.lingala.zip4j.ZipFile;
+
+class TestZipStreamUnpacker {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void unpack() throws Exception {
+    var source = tempDir.resolve("source");
+    Files.createDirectories(source.resolve("system/plugins"));
+    Files.writeString(source.resolve("system/plugins/ch.ivyteam.util_14.0.0.jar"), "lib");
+    Files.writeString(source.resolve("readme.txt"), "hi");
+    var zip = tempDir.resolve("engine.zip");
+    try (var engineZip = new ZipFile(zip.toFile())) {
+      engineZip.addFolder(source.resolve("system").toFile());
+      engineZip.addFile(source.resolve("readme.txt").toFile());
+    }
+
+    var target = tempDir.resolve("engine");
+    try (var in = Files.newInputStream(zip)) {
+      assertThat(new ZipStreamUnpacker(target).unpack(in)).isEqualTo(2);
+    }
+    assertThat(target.resolve("system/plugins/ch.ivyteam.util_14.0.0.jar")).hasContent("lib");
+    assertThat(target.resolve("readme.txt")).hasContent("hi");
+  }
+
+  @Test
+  void unpack_rejectsEntriesOutsideTarget() throws Exception {
+    var zip = zip("../evil.txt");
+    assertThatThrownBy(() -> new ZipStreamUnpacker(tempDir.resolve("engine")).unpack(zip))
+        .isInstanceOf(IOException.class)
+        .hasMessageContaining("points outside");
+    assertThat(tempDir.resolve("evil.txt")).doesNotExist();
+  }
+
+  @Test
+  void unpack_noZip() {
+    var html = new ByteArrayInputStream("<html></html>".getBytes());
+    assertThatThrownBy(() -> new ZipStreamUnpacker(tempDir.resolve("engine")).unpack(html))
+        .isInstanceOf(IOException.class);
+  }
+
+  private static ByteArrayInputStream zip(String entryName) throws IOException {
+    var bytes = new ByteArrayOutputStream();
+    try (var zip = new ZipOutputStream(bytes)) {
+      zip.putNextEntry(new ZipEntry(entryName));
+      zip.write("content".getBytes());
+      zip.closeEntry();
+    }
+    return new ByteArrayInputStream(bytes.toByteArray());
+  }
+}
@@ -2,6 +2,9 @@ package ch.ivyteam.ivy.maven.generate;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 import org.apache.maven.api.plugin.testing.InjectMojo;
 import org.apache.maven.api.plugin.testing.MojoTest;
 import org.junit.jupiter.api.BeforeEach;
@@ -50,6 +53,32 @@ class TestGenerateDataClassSourcesMojo {
     assertThat(targetClasses).as("classes are not getting compiled").doesNotExist();
   }
 
+  @Test
+  void generateIncremental() throws Exception {
+    var projectDir = mojo.project.getBasedir().toPath();
+    var dataClassDir = projectDir.resolve("target/generated-sources/ivy-dataclass");
+    PathUtils.delete(dataClassDir);
+    mojo.execute();
+    assertThat(Path.of(mojo.project.getBuild().getDirectory()).resolve(GenerateDataClassSourcesMojo.FINGERPRINTS))
+        .exists();
+
+    Path source;
+    try (var sources = Files.walk(dataClassDir)) {
+      source = sources.filter(f -> f.getFileName().toString().endsWith(".java")).findFirst().orElseThrow();
+    }
+    Files.writeString(source, "// untouched, data class did not change");
+    mojo.execute();
+    assertThat(source).hasContent("// untouched, data class did not change");
+
+    try (var jsons = Files.walk(projectDir)) {
+      for (var json : jsons.filter(f -> f.getFileName().toString().endsWith(".d.json")).toList()) {
+        Files.delete(json);
+      }
+    }
+    mojo.execute();
+    assertThat(source).as("source of deleted data class is removed").doesNotExist();
+  }
+
   @Test
   void skipGenerateSources() throws Exception {
     var dataClassDir = mojo.project.getBasedir().toPath().resolve("target/generated-sources/ivy-dataclass");
@@ -0,0 +1,277 @@
+package ch.ivyteam.ivy.maven.iar;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.apache.commons.compress.archivers.zip.UnixStat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ch.ivyteam.ivy.maven.log.LogCollector;
+
+class TestIarWriter {
+
+  @TempDir
+  Path tempDir;
+
+  private Path project;
+  private Path iar;
+  private Path index;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    project = tempDir.resolve("project");
+    Files.createDirectories(project.resolve("processes"));
+    Files.writeString(project.resolve("processes/main.p.json"), "{ \"kind\" : \"process\" }\n".repeat(10));
+    Files.writeString(project.resolve("pom.xml"), "<project/>");
+    iar = tempDir.resolve("target/project.iar");
+    index = tempDir.resolve("target/project.iar.index");
+  }
+
+  @Test
+  void write() throws Exception {
+    var log = new LogCollector();
+    pack(log);
+
+    assertThat(log.getInfos().toString()).contains("Packed 2 files into project.iar (0 unchanged");
+    try (var archive = new ZipFile(iar.toFile())) {
+      assertThat(Collections.list(archive.entries())).extracting(ZipEntry::getName)
+          .containsExactly("META-INF/", "META-INF/ivy/", "META-INF/ivy/processes/",
+              "META-INF/ivy/processes/main.p.json", "META-INF/ivy/pom.xml");
+      var process = archive.getEntry("META-INF/ivy/processes/main.p.json");
+      assertThat(process.getMethod()).isEqualTo(ZipEntry.DEFLATED);
+      assertThat(archive.getInputStream(process)).hasContent("{ \"kind\" : \"process\" }\n".repeat(10));
+    }
+    assertThat(index).exists();
+  }
+
+  @Test
+  void firstEntryWins() throws Exception {
+    Files.writeString(tempDir.resolve("custom.xml"), "<custom/>");
+    var writer = new IarWriter(iar, index, new LogCollector());
+    writer.addFile("META-INF/ivy/pom.xml", tempDir.resolve("custom.xml"));
+    writer.addFile("META-INF/ivy/pom.xml", project.resolve("pom.xml"));
+    writer.write();
+
+    try (var archive = new ZipFile(iar.toFile())) {
+      assertThat(archive.size()).isEqualTo(3);
+      assertThat(archive.getInputStream(archive.getEntry("META-INF/ivy/pom.xml"))).hasContent("<custom/>");
+    }
+  }
+
+  @Test
+  void reuseUnchangedEntries() throws Exception {
+    pack(new LogCollector());
+    var process = project.resolve("processes/main.p.json");
+    Files.writeString(process, "{ \"kind\" : \"changed\" }");
+    Files.setLastModifiedTime(process, FileTime.fromMillis(Files.getLastModifiedTime(process).toMillis() + 2000));
+
+    var log = new LogCollector();
+    pack(log);
+
+    assertThat(log.getInfos().toString()).contains("Packed 2 files into project.iar (1 unchanged");
+    try (var archive = new ZipFile(iar.toFile())) {
+      assertThat(archive.getInputStream(archive.getEntry("META-INF/ivy/pom.xml"))).hasContent("<project/>");
+      assertThat(archive.getInputStream(archive.getEntry("META-INF/ivy/processes/main.p.json")))
+          .hasContent("{ \"kind\" : \"changed\" }");
+    }
+  }
+
+  @Test
+  void rebuildIfIarWasReplaced() throws Exception {
+    pack(new LogCollector());
+    Files.delete(iar);
+
+    var log = new LogCollector();
+    pack(log);
+
+    assertThat(log.getInfos().toString()).contains("(0 unchanged");
+    try (var archive = new ZipFile(iar.toFile())) {
+      assertThat(archive.getInputStream(archive.getEntry("META-INF/ivy/pom.xml"))).hasContent("<project/>");
+    }
+  }
+
+  @Test
+  void removedFilesAreNotPackedAnymore() throws Exception {
+    pack(new LogCollector());
+    Files.delete(project.resolve("pom.xml"));
+
+    var writer = new IarWriter(iar, index, new LogCollector());
+    writer.addFile("META-INF/ivy/processes/main.p.json", project.resolve("processes/main.p.json"));
+    writer.write();
+
+    try (var archive = new ZipFile(iar.toFile())) {
+      assertThat(archive.getEntry("META-INF/ivy/pom.xml")).isNull();
+      assertThat(archive.getEntry("META-INF/ivy/processes/main.p.json")).isNotNull();
+    }
+  }
+
+  @Test
+  void storeCompressedFiles() throws Exception {
+    var jar = project.resolve("lib/thirdParty.jar");
+    Files.createDirectories(jar.getParent());
+    Files.writeString(jar, "jar content ".repeat(100));
+    var random = new byte[1024];
+    new Random(42).nextBytes(random);
+    Files.write(project.resolve("random.bin"), random);
+
+    var writer = new IarWriter(iar, index, new LogCollector());
+    writer.addFile("META-INF/ivy/lib/thirdParty.jar", jar);
+    writer.addFile("META-INF/ivy/random.bin", project.resolve("random.bin"));
+    writer.addFile("META-INF/ivy/pom.xml", project.resolve("pom.xml"));
+    writer.write();
+
+    try (var archive = new ZipFile(iar.toFile())) {
+      assertThat(archive.getEntry("META-INF/ivy/lib/thirdParty.jar").getMethod()).isEqualTo(ZipEntry.STORED);
+      assertThat(archive.getEntry("META-INF/ivy/random.bin").getMethod())
+          .as("not compressible").isEqualTo(ZipEntry.STORED);
+      assertThat(archive.getInputStream(archive.getEntry("META-INF/ivy/lib/thirdParty.jar")))
+          .hasContent("jar content ".repeat(100));
+      assertThat(archive.getInputStream(archive.getEntry("META-INF/ivy/random.bin"))).hasBinaryContent(random);
+    }
+  }
+
+  @Test
+  void parallelDeterministicOrder() throws Exception {
+    var writer = new IarWriter(iar, index, new LogCollector()).threads(4);
+    var names = new ArrayList<String>();
+    for (int i = 0; i < 200; i++) {
+      var file = project.resolve("file" + i + ".txt");
+      Files.writeString(file, ("content of file " + i + "\n").repeat(i + 1));
+      var name = "META-INF/ivy/file" + i + ".txt";
+      writer.addFile(name, file);
+      names.add(name);
+    }
+    writer.write();
+
+    try (var archive = new ZipFile(iar.toFile())) {
+      var files = Collections.list(archive.entries()).stream()
+          .filter(entry -> !entry.isDirectory())
+          .toList();
+      assertThat(files).extracting(ZipEntry::getName).containsExactlyElementsOf(names);
+      assertThat(archive.getInputStream(archive.getEntry("META-INF/ivy/file199.txt")))
+          .hasContent(("content of file 199\n").repeat(200));
+    }
+  }
+
+  @Test
+  void parallelBoundedBytesAhead() throws Exception {
+    var writer = new IarWriter(iar, index, new LogCollector()).threads(4).maxBytesAhead(100);
+    for (int i = 0; i < 20; i++) {
+      var file = project.resolve("file" + i + ".txt");
+      Files.writeString(file, ("content of file " + i + "\n").repeat(10));
+      writer.addFile("META-INF/ivy/file" + i + ".txt", file);
+    }
+    writer.write();
+
+    try (var archive = new ZipFile(iar.toFile())) {
+      assertThat(archive.getInputStream(archive.getEntry("META-INF/ivy/file19.txt")))
+          .hasContent(("content of file 19\n").repeat(10));
+    }
+  }
+
+  @Test
+  void unixMode() throws Exception {
+    var script = project.resolve("run.sh");
+    Files.writeString(script, "echo run\n".repeat(10));
+    packWithModes(new LogCollector(), script, 0755);
+    try (var archive = org.apache.commons.compress.archivers.zip.ZipFile.builder().setPath(iar).get()) {
+      assertThat(archive.getEntry("META-INF/ivy/run.sh").getUnixMode()).isEqualTo(UnixStat.FILE_FLAG | 0755);
+      assertThat(archive.getEntry("META-INF/ivy/processes/").getUnixMode()).isEqualTo(UnixStat.DIR_FLAG | 0750);
+    }
+
+    var log = new LogCollector();
+    packWithModes(log, script, 0644);
+    assertThat(log.getInfos().toString()).contains("(0 unchanged");
+    try (var archive = org.apache.commons.compress.archivers.zip.ZipFile.builder().setPath(iar).get()) {
+      assertThat(archive.getEntry("META-INF/ivy/run.sh").getUnixMode()).isEqualTo(UnixStat.FILE_FLAG | 0644);
+    }
+  }
+
+  private void packWithModes(LogCollector log, Path script, int scriptMode) throws Exception {
+    var writer = new IarWriter(iar, index, log);
+    writer.addDirectory("META-INF/ivy/processes", project.resolve("processes"), 0750);
+    writer.addFile("META-INF/ivy/run.sh", script, scriptMode);
+    writer.write();
+  }
+
+  @Test
+  void reproducible() throws Exception {
+    var time = Instant.parse("2024-05-01T10:00:00Z");
+    var writer = new IarWriter(iar, index, new LogCollector()).reproducible(time);
+    writer.addFile("META-INF/ivy/pom.xml", project.resolve("pom.xml"));
+    writer.addFile("META-INF/ivy/processes/main.p.json", project.resolve("processes/main.p.json"));
+    writer.write();
+    var first = Files.readAllBytes(iar);
+
+    Files.delete(iar);
+    Files.setLastModifiedTime(project.resolve("pom.xml"), FileTime.fromMillis(1_000_000));
+    writer = new IarWriter(iar, index, new LogCollector()).reproducible(time).threads(2);
+    writer.addFile("META-INF/ivy/processes/main.p.json", project.resolve("processes/main.p.json"));
+    writer.addFile("META-INF/ivy/pom.xml", project.resolve("pom.xml"));
+    writer.write();
+
+    assertThat(iar).hasBinaryContent(first);
+    try (var archive = new ZipFile(iar.toFile())) {
+      assertThat(Collections.list(archive.entries())).extracting(ZipEntry::getName)
+          .containsExactly("META-INF/", "META-INF/ivy/", "META-INF/ivy/pom.xml",
+              "META-INF/ivy/processes/", "META-INF/ivy/processes/main.p.json");
+      assertThat(archive.getEntry("META-INF/ivy/pom.xml").getTimeLocal())
+          .isEqualTo(LocalDateTime.of(2024, 5, 1, 10, 0));
+    }
+  }
+
+  @Test
+  void skipUnchanged() throws Exception {
+    pack(new LogCollector());
+    var iarTime = Files.getLastModifiedTime(iar);
+    var log = new LogCollector();
+    pack(log);
+    assertThat(log.getInfos().toString()).contains("Skipped packing of project.iar");
+    assertThat(Files.getLastModifiedTime(iar)).isEqualTo(iarTime);
+  }
+
+  @Test
+  void skipUnchanged_reproducibleIgnoresTouchedFiles() throws Exception {
+    var time = Instant.parse("2024-05-01T10:00:00Z");
+    pack(new LogCollector(), time);
+    var pom = project.resolve("pom.xml");
+    Files.setLastModifiedTime(pom, FileTime.fromMillis(Files.getLastModifiedTime(pom).toMillis() + 5000));
+
+    var log = new LogCollector();
+    pack(log, time);
+    assertThat(log.getInfos().toString()).contains("Skipped packing of project.iar");
+
+    Files.writeString(pom, "<project>changed</project>");
+    log = new LogCollector();
+    pack(log, time);
+    assertThat(log.getInfos().toString()).doesNotContain("Skipped packing");
+    try (var archive = new ZipFile(iar.toFile())) {
+      assertThat(archive.getInputStream(archive.getEntry("META-INF/ivy/pom.xml")))
+          .hasContent("<project>changed</project>");
+    }
+  }
+
+  private void pack(LogCollector log) throws Exception {
+    pack(log, null);
+  }
+
+  private void pack(LogCollector log, Instant reproducibleTime) throws Exception {
+    var writer = new IarWriter(iar, index, log).reproducible(reproducibleTime);
+    writer.addDirectory("META-INF/ivy/processes", project.resolve("processes"));
+    writer.addFile("META-INF/ivy/processes/main.p.json", project.resolve("processes/main.p.json"));
+    writer.addFile("META-INF/ivy/pom.xml", project.resolve("pom.xml"));
+    writer.write();
+  }
+}
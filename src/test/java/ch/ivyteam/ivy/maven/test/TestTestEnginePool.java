@@ -0,0 +1,71 @@
+package ch.ivyteam.ivy.maven.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Model;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import ch.ivyteam.ivy.maven.engine.EngineControl;
+
+class TestTestEnginePool {
+
+  @Test
+  void firstStartsLastStops() {
+    var first = project("first", TestEnginePool.INTEGRATION_TEST_PACKAGING);
+    var second = project("second", TestEnginePool.INTEGRATION_TEST_PACKAGING);
+    var session = session(List.of(project("lib", "iar"), first, second));
+
+    var pool = TestEnginePool.of(session);
+    assertThat(TestEnginePool.of(session)).isSameAs(pool);
+    assertThat(pool.isRunning()).isFalse();
+
+    first.getProperties().setProperty(EngineControl.Property.TEST_ENGINE_URL, "http://localhost:8080/");
+    var process = Mockito.mock(Process.class);
+    Mockito.when(process.isAlive()).thenReturn(true);
+    pool.started(Path.of("engine"), process, first);
+
+    assertThat(pool.isRunning()).isTrue();
+    assertThat(pool.engineDir()).isEqualTo(Path.of("engine"));
+    pool.join(second);
+    assertThat(second.getProperties().getProperty(EngineControl.Property.TEST_ENGINE_URL))
+        .isEqualTo("http://localhost:8080/");
+
+    assertThat(pool.release()).as("second module still needs the engine").isFalse();
+    assertThat(pool.release()).as("last module stops the engine").isTrue();
+  }
+
+  @Test
+  void noPoolWithoutRepositorySession() {
+    assertThat(TestEnginePool.of(null)).isNull();
+    assertThat(TestEnginePool.of(Mockito.mock(MavenSession.class))).isNull();
+  }
+
+  @Test
+  void countModules() {
+    assertThat(TestEnginePool.countModules(List.of(project("lib", "iar")))).isEqualTo(1);
+    assertThat(TestEnginePool.countModules(List.of(
+        project("a", TestEnginePool.INTEGRATION_TEST_PACKAGING),
+        project("b", TestEnginePool.INTEGRATION_TEST_PACKAGING)))).isEqualTo(2);
+  }
+
+  private static MavenSession session(List<MavenProject> projects) {
+    var session = Mockito.mock(MavenSession.class);
+    Mockito.when(session.getRepositorySession()).thenReturn(new DefaultRepositorySystemSession());
+    Mockito.when(session.getProjects()).thenReturn(projects);
+    return session;
+  }
+
+  private static MavenProject project(String artifactId, String packaging) {
+    var model = new Model();
+    model.setArtifactId(artifactId);
+    model.setPackaging(packaging);
+    return new MavenProject(model);
+  }
+}
@@ -0,0 +1,109 @@
+package ch.ivyteam.ivy.maven.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TestFingerprintCache {
+
+  @TempDir
+  Path project;
+
+  private Path cacheFile;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    cacheFile = project.resolve("target/fingerprints");
+    write("src/Person.java");
+    write("src/PersonBase.java");
+  }
+
+  @Test
+  void upToDate() throws Exception {
+    var cache = FingerprintCache.load(cacheFile, "v1");
+    assertThat(cache.isUpToDate("Person.d.json", "abc", project)).isFalse();
+    cache.put("Person.d.json", "abc", List.of("src/Person.java", "src/PersonBase.java"));
+    cache.store();
+
+    cache = FingerprintCache.load(cacheFile, "v1");
+    assertThat(cache.isUpToDate("Person.d.json", "abc", project)).isTrue();
+    assertThat(cache.isUpToDate("Person.d.json", "changed", project)).isFalse();
+    assertThat(cache.isUpToDate("Other.d.json", "abc", project)).isFalse();
+  }
+
+  @Test
+  void missingOutput() throws Exception {
+    var cache = FingerprintCache.load(cacheFile, "v1");
+    cache.put("Person.d.json", "abc", List.of("src/Person.java", "src/PersonBase.java"));
+    Files.delete(project.resolve("src/PersonBase.java"));
+    assertThat(cache.isUpToDate("Person.d.json", "abc", project)).isFalse();
+  }
+
+  @Test
+  void otherGenerator() throws Exception {
+    var cache = FingerprintCache.load(cacheFile, "v1");
+    cache.put("Person.d.json", "abc", List.of("src/Person.java"));
+    cache.store();
+
+    cache = FingerprintCache.load(cacheFile, "v2");
+    assertThat(cache.isUpToDate("Person.d.json", "abc", project)).isFalse();
+    assertThat(cache.obsoleteOutputs(Set.of()))
+        .as("class deleted across a generator update")
+        .containsExactly("src/Person.java");
+  }
+
+  @Test
+  void storeReplacesCache() throws Exception {
+    var cache = FingerprintCache.load(cacheFile, "v1");
+    cache.put("Person.d.json", "abc", List.of("src/Person.java"));
+    cache.store();
+    cache.put("Person.d.json", "changed", List.of("src/Person.java"));
+    cache.store();
+
+    try (var files = Files.list(cacheFile.getParent())) {
+      assertThat(files).as("no temp file left").containsExactly(cacheFile);
+    }
+    cache = FingerprintCache.load(cacheFile, "v1");
+    assertThat(cache.isUpToDate("Person.d.json", "changed", project)).isTrue();
+  }
+
+  @Test
+  void corruptCache() throws Exception {
+    Files.createDirectories(cacheFile.getParent());
+    Files.writeString(cacheFile, "garbage");
+    var cache = FingerprintCache.load(cacheFile, "v1");
+    assertThat(cache.isUpToDate("Person.d.json", "abc", project)).isFalse();
+  }
+
+  @Test
+  void obsoleteOutputs() throws Exception {
+    var cache = FingerprintCache.load(cacheFile, "v1");
+    cache.put("Person.d.json", "abc", List.of("src/Person.java", "src/PersonBase.java"));
+    cache.put("Order.d.json", "def", List.of("src/Order.java"));
+    cache.store();
+
+    cache = FingerprintCache.load(cacheFile, "v1");
+    cache.put("Person.d.json", "changed", List.of("src/Customer.java"));
+    assertThat(cache.obsoleteOutputs(Set.of("Person.d.json")))
+        .as("outputs of the deleted and the renamed class")
+        .containsExactly("src/Order.java", "src/Person.java", "src/PersonBase.java");
+    cache.store();
+
+    cache = FingerprintCache.load(cacheFile, "v1");
+    assertThat(cache.isUpToDate("Order.d.json", "def", project)).isFalse();
+    assertThat(cache.obsoleteOutputs(Set.of("Person.d.json"))).isEmpty();
+  }
+
+  private void write(String relativePath) throws Exception {
+    var file = project.resolve(relativePath);
+    Files.createDirectories(file.getParent());
+    Files.writeString(file, "class X {}");
+  }
+}
@@ -0,0 +1,39 @@
+package ch.ivyteam.ivy.maven.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TestParallelFileCopier {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void copy() throws Exception {
+    var src = tempDir.resolve("src");
+    var large = new byte[(int) ParallelFileCopier.LARGE_FILE_SIZE + 123];
+    new Random(42).nextBytes(large);
+    Files.createDirectories(src.resolve("a/b/c"));
+    Files.createDirectories(src.resolve("empty"));
+    Files.writeString(src.resolve("root.txt"), "root");
+    Files.writeString(src.resolve("a/b/c/deep.txt"), "deep");
+    Files.write(src.resolve("a/large.bin"), large);
+    Files.setLastModifiedTime(src.resolve("a/large.bin"), FileTime.fromMillis(1_000_000));
+
+    var dest = tempDir.resolve("dest");
+    new ParallelFileCopier(3).copy(src, dest);
+
+    assertThat(dest.resolve("empty")).isEmptyDirectory();
+    assertThat(dest.resolve("root.txt")).hasContent("root");
+    assertThat(dest.resolve("a/b/c/deep.txt")).hasContent("deep");
+    assertThat(dest.resolve("a/large.bin")).hasBinaryContent(large);
+    assertThat(Files.getLastModifiedTime(dest.resolve("a/large.bin")).toMillis()).isEqualTo(1_000_000);
+  }
+}
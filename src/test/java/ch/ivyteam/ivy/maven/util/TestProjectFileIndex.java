@@ -0,0 +1,153 @@
+package ch.ivyteam.ivy.maven.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TestProjectFileIndex {
+
+  @TempDir
+  Path project;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    write("dataclass/com/acme/Person.d.json");
+    write("dataclass/com/acme/notes.txt");
+    write("dialog/com/acme/Form/Form.d.json");
+    write("dialog/com/acme/Form/Form.f.json");
+    write("webContent/node_modules/lib/index.d.json");
+    Files.createDirectories(project.resolve("src_generated/ws/client1/ch"));
+    Files.createDirectories(project.resolve("src_generated/rest/client2"));
+    Files.createDirectories(project.resolve("src_generated/other/client3"));
+  }
+
+  @Test
+  void files() {
+    var index = new ProjectFileIndex(project);
+    assertThat(index.files("dataclass/**/*.d.json", "dialog/**/*.d.json")).containsExactly(
+        Path.of("dataclass/com/acme/Person.d.json"),
+        Path.of("dialog/com/acme/Form/Form.d.json"));
+    assertThat(index.files("dialog/**/*.f.json")).containsExactly(
+        Path.of("dialog/com/acme/Form/Form.f.json"));
+    assertThat(index.files("process/**/*.p.json")).isEmpty();
+  }
+
+  @Test
+  void directories() {
+    var index = new ProjectFileIndex(project);
+    assertThat(index.directories("src_generated/rest/*", "src_generated/ws/*")).containsExactly(
+        Path.of("src_generated/rest/client2"),
+        Path.of("src_generated/ws/client1"));
+  }
+
+  @Test
+  void root() {
+    assertThat(ProjectFileIndex.root("dataclass/**/*.d.json")).isEqualTo("dataclass");
+    assertThat(ProjectFileIndex.root("src_generated/ws/*")).isEqualTo("src_generated/ws");
+    assertThat(ProjectFileIndex.root("**/*.d.json")).isEmpty();
+    assertThat(ProjectFileIndex.root("pom.xml")).isEmpty();
+  }
+
+  @Test
+  void servedFromMemory() throws Exception {
+    age("dataclass");
+    var index = new ProjectFileIndex(project);
+    assertThat(index.files("dataclass/**/*.d.json")).hasSize(1);
+
+    writeUnnoticed("dataclass/com/acme/Address.d.json");
+    assertThat(index.files("dataclass/**/*.d.json"))
+        .as("not walked again").hasSize(1);
+
+    index.invalidate(Path.of("dataclass/com/acme/Address.d.json"));
+    assertThat(index.files("dataclass/**/*.d.json")).containsExactly(
+        Path.of("dataclass/com/acme/Address.d.json"),
+        Path.of("dataclass/com/acme/Person.d.json"));
+  }
+
+  @Test
+  void invalidate_servedByParent() throws Exception {
+    age("dataclass");
+    var index = new ProjectFileIndex(project);
+    assertThat(index.files("dataclass/**/*.d.json")).hasSize(1);
+    assertThat(index.files("dataclass/com/**/*.txt")).as("served by the walked parent")
+        .containsExactly(Path.of("dataclass/com/acme/notes.txt"));
+
+    writeUnnoticed("dataclass/com/acme/readme.txt");
+    index.invalidate(Path.of("dataclass/com/acme/readme.txt"));
+    assertThat(index.files("dataclass/com/**/*.txt")).containsExactly(
+        Path.of("dataclass/com/acme/notes.txt"),
+        Path.of("dataclass/com/acme/readme.txt"));
+  }
+
+  @Test
+  void changedByOthers_recentlyModified() throws Exception {
+    var index = new ProjectFileIndex(project);
+    assertThat(index.files("dataclass/**/*.d.json")).hasSize(1);
+
+    writeUnnoticed("dataclass/com/acme/Address.d.json");
+    assertThat(index.files("dataclass/**/*.d.json"))
+        .as("children of directories modified right before the walk are counted").containsExactly(
+            Path.of("dataclass/com/acme/Address.d.json"),
+            Path.of("dataclass/com/acme/Person.d.json"));
+  }
+
+  @Test
+  void changedByOthers() throws Exception {
+    var index = new ProjectFileIndex(project);
+    assertThat(index.files("dialog/**/*.d.json")).hasSize(1);
+
+    var formDir = project.resolve("dialog/com/acme/Form");
+    var modified = Files.getLastModifiedTime(formDir);
+    Files.delete(formDir.resolve("Form.d.json"));
+    Files.setLastModifiedTime(formDir, FileTime.fromMillis(modified.toMillis() + 1000));
+    assertThat(index.files("dialog/**/*.d.json")).as("modified directory is walked again").isEmpty();
+  }
+
+  @Test
+  void invalidate_missingRoot() throws Exception {
+    var index = new ProjectFileIndex(project);
+    assertThat(index.files("process/**/*.p.json")).isEmpty();
+
+    write("process/main.p.json");
+    index.invalidate(Path.of("process/main.p.json"));
+    assertThat(index.files("process/**/*.p.json")).containsExactly(Path.of("process/main.p.json"));
+  }
+
+  /**
+   * sets the modification time of the directories to the past, beyond the
+   * timestamp resolution of the file system
+   */
+  private void age(String relativePath) throws Exception {
+    var old = FileTime.from(Instant.now().minus(Duration.ofHours(1)));
+    try (var dirs = Files.walk(project.resolve(relativePath))) {
+      for (var dir : dirs.filter(Files::isDirectory).toList()) {
+        Files.setLastModifiedTime(dir, old);
+      }
+    }
+  }
+
+  /**
+   * writes the file without changing the modification time of its directory,
+   * like a file system with a coarse timestamp resolution
+   */
+  private void writeUnnoticed(String relativePath) throws Exception {
+    var dir = project.resolve(relativePath).getParent();
+    var modified = Files.getLastModifiedTime(dir);
+    write(relativePath);
+    Files.setLastModifiedTime(dir, modified);
+  }
+
+  private void write(String relativePath) throws Exception {
+    var file = project.resolve(relativePath);
+    Files.createDirectories(file.getParent());
+    Files.writeString(file, "{}");
+  }
+}
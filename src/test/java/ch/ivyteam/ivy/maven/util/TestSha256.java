@@ -0,0 +1,31 @@
+package ch.ivyteam.ivy.maven.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TestSha256 {
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void file() throws Exception {
+    var file = dir.resolve("Person.java");
+    Files.writeString(file, "class X {}");
+    var hash = Sha256.of(file);
+    assertThat(hash).hasSize(64).isEqualTo(Sha256.of(file)).isEqualTo(Sha256.of("class X {}"));
+    Files.writeString(file, "changed");
+    assertThat(Sha256.of(file)).isNotEqualTo(hash);
+  }
+
+  @Test
+  void text() {
+    assertThat(Sha256.of("abc"))
+        .isEqualTo("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad");
+  }
+}